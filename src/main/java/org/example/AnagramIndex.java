@@ -0,0 +1,174 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Groups strings into anagram classes, i.e. strings that are permutations of each other in the
+ * sense of {@link StringUtilsFixed#isPermutation(String, String)}, without comparing them pairwise.
+ *
+ * <p>Every string gets a multiset signature, see {@link #signature(CharSequence)}, that is the same
+ * for all its permutations. Strings are bucketed by signature in one pass, so adding a string and
+ * looking up its class are expected O(length) operations. Removing a string also has to find it in
+ * the list of its class, which costs O(class size x length). Two different classes may share a
+ * signature, so a string is only put into a bucket after it has been verified against the bucket's
+ * first member with {@link Permutations#isPermutation(CharSequence, CharSequence)}; colliding
+ * classes are chained.
+ *
+ * <p>The index is a multiset: a string added twice is listed twice and has to be removed twice.
+ * It is not thread-safe.
+ */
+public class AnagramIndex {
+
+  private final HashMap<Long, Group> groups = new HashMap<>();
+  private final ToLongFunction<CharSequence> signer;
+  private int size;
+
+  public AnagramIndex() {
+    this(AnagramIndex::signature);
+  }
+
+  AnagramIndex(ToLongFunction<CharSequence> signer) {
+    this.signer = signer;
+  }
+
+  /** This method computes the multiset signature of a char sequence: the sum of a 64-bit mix of
+   * every char. Addition does not depend on order, so all permutations share a signature; the mix
+   * spreads chars over all 64 bits so that different multisets rarely do.
+   *
+   * @param str the input
+   * @return the signature of str
+   * @throws NullPointerException if str is null
+   */
+  public static long signature(CharSequence str) {
+    long sum = 0;
+    for (int i = 0; i < str.length(); i++) {
+      sum += mix(str.charAt(i));
+    }
+    return sum;
+  }
+
+  /* The finalizer of SplitMix64, applied to the char offset by the golden gamma. */
+  static long mix(char c) {
+    long z = (c + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /** This method adds a string to its anagram class.
+   *
+   * @param str the string to be added
+   * @throws NullPointerException if str is null
+   */
+  public void add(String str) {
+    long key = signer.applyAsLong(str);
+    Group head = groups.get(key);
+    Group group = find(head, str);
+    if (group == null) {
+      group = new Group(str, head);
+      groups.put(key, group);
+    }
+    group.members.add(str);
+    size++;
+  }
+
+  /** This method adds every string of a batch.
+   *
+   * @param strs the strings to be added
+   * @throws NullPointerException if strs or any of its strings is null
+   */
+  public void addAll(Iterable<String> strs) {
+    for (String str : strs) {
+      add(str);
+    }
+  }
+
+  /** This method removes the first occurrence of a string from the list of its class, which it
+   * searches from the start.
+   *
+   * @param str the string to be removed
+   * @return true if str was in the index
+   * @throws NullPointerException if str is null
+   */
+  public boolean remove(String str) {
+    long key = signer.applyAsLong(str);
+    Group head = groups.get(key);
+    Group group = find(head, str);
+    if (group == null || !group.members.remove(str)) {
+      return false;
+    }
+    size--;
+    if (group.members.isEmpty()) {
+      if (group == head) {
+        if (head.next == null) {
+          groups.remove(key);
+        } else {
+          groups.put(key, head.next);
+        }
+      } else {
+        Group prev = head;
+        while (prev.next != group) {
+          prev = prev.next;
+        }
+        prev.next = group.next;
+      }
+    }
+    return true;
+  }
+
+  /** This method returns every indexed string that is a permutation of str, str itself included
+   * if it was added.
+   *
+   * @param str the string to look up; it does not need to be in the index
+   * @return an unmodifiable live view of the anagram class of str, empty if there is none
+   * @throws NullPointerException if str is null
+   */
+  public List<String> permutationsOf(String str) {
+    Group group = find(groups.get(signer.applyAsLong(str)), str);
+    return group == null ? Collections.emptyList() : Collections.unmodifiableList(group.members);
+  }
+
+  /**
+   * @return every anagram class, as unmodifiable lists in no particular order
+   */
+  public List<List<String>> classes() {
+    List<List<String>> classes = new ArrayList<>();
+    for (Group head : groups.values()) {
+      for (Group g = head; g != null; g = g.next) {
+        classes.add(Collections.unmodifiableList(g.members));
+      }
+    }
+    return classes;
+  }
+
+  /**
+   * @return the number of strings in the index, counting duplicates
+   */
+  public int size() {
+    return size;
+  }
+
+  private static Group find(Group head, String str) {
+    for (Group g = head; g != null; g = g.next) {
+      if (Permutations.isPermutation(g.representative, str)) {
+        return g;
+      }
+    }
+    return null;
+  }
+
+  private static final class Group {
+    final String representative;
+    final List<String> members = new ArrayList<>();
+    Group next;
+
+    Group(String representative, Group next) {
+      this.representative = representative;
+      this.next = next;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Compresses many small records at once into a reusable {@link RleArena} instead of creating a
+ * String per record. A batch runs in two parallel passes over slices of the records on a
+ * {@link ForkJoinPool}: the first measures every record with
+ * {@link RleCompressor#compressedLength(CharSequence)}, the offsets are then laid out with a prefix
+ * sum, and the second pass writes every record straight to its place in the shared char array.
+ * Each record ends up exactly as {@link StringUtilsFixed#compress(String)} would return it.
+ */
+public class BatchRleCompressor {
+
+  static final int DEFAULT_SLICE_SIZE = 1024;
+
+  private final ForkJoinPool pool;
+  private final int sliceSize;
+  private final RleCompressor compressor = new RleCompressor();
+
+  public BatchRleCompressor() {
+    this(ForkJoinPool.commonPool(), DEFAULT_SLICE_SIZE);
+  }
+
+  /**
+   * @param pool the pool the slices run on
+   * @param sliceSize the number of records a worker handles in one go
+   * @throws NullPointerException if pool is null
+   * @throws IllegalArgumentException if sliceSize is less than 1
+   */
+  public BatchRleCompressor(ForkJoinPool pool, int sliceSize) {
+    if (pool == null) {
+      throw new NullPointerException("pool");
+    }
+    if (sliceSize < 1) {
+      throw new IllegalArgumentException("sliceSize must be positive: " + sliceSize);
+    }
+    this.pool = pool;
+    this.sliceSize = sliceSize;
+  }
+
+  /** This method compresses a batch of records into arena, replacing its previous contents.
+   *
+   * @param records the records to be compressed
+   * @param arena the arena the results are written to
+   * @return arena
+   * @throws NullPointerException if records, any record, or arena is null
+   */
+  public RleArena compress(String[] records, RleArena arena) {
+    return compress(Arrays.asList(records), arena);
+  }
+
+  /** This method compresses a batch of records into arena, replacing its previous contents.
+   *
+   * @param records the records to be compressed
+   * @param arena the arena the results are written to
+   * @return arena
+   * @throws NullPointerException if records, any record, or arena is null
+   */
+  public RleArena compress(List<String> records, RleArena arena) {
+    int n = records.size();
+    int[] offsets = arena.reset(n);
+    if (n == 0) {
+      return arena;
+    }
+    // offsets[i + 1] temporarily holds the length of record i, negated when it stays uncompressed
+    pool.invoke(new Slice(records, arena, null, 0, n));
+    long total = 0;
+    for (int i = 0; i < n; i++) {
+      int length = offsets[i + 1];
+      if (length > 0) {
+        arena.markCompressed(i);
+      }
+      total += Math.abs(length);
+      if (total > Integer.MAX_VALUE - 8) {
+        arena.clear();
+        throw new IllegalArgumentException("batch too large for one arena: " + total + " chars");
+      }
+      offsets[i + 1] = (int) total;
+    }
+    char[] data = arena.ensureCapacity((int) total);
+    pool.invoke(new Slice(records, arena, data, 0, n));
+    return arena;
+  }
+
+  /** This method compresses a batch of records into arena, replacing its previous contents. The
+   * stream is collected first, since the records are needed twice.
+   *
+   * @param records the records to be compressed
+   * @param arena the arena the results are written to
+   * @return arena
+   * @throws NullPointerException if records, any record, or arena is null
+   */
+  public RleArena compress(Stream<String> records, RleArena arena) {
+    return compress(records.toList(), arena);
+  }
+
+  /* Measures records[lo, hi) when data is null, otherwise writes them at their offsets. */
+  private final class Slice extends RecursiveAction {
+    private final List<String> records;
+    private final RleArena arena;
+    private final char[] data;
+    private final int lo;
+    private final int hi;
+
+    Slice(List<String> records, RleArena arena, char[] data, int lo, int hi) {
+      this.records = records;
+      this.arena = arena;
+      this.data = data;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > sliceSize) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Slice(records, arena, data, lo, mid), new Slice(records, arena, data, mid, hi));
+        return;
+      }
+      int[] offsets = arena.offsets();
+      for (int i = lo; i < hi; i++) {
+        String record = records.get(i);
+        if (data == null) {
+          int length = compressor.compressedLength(record);
+          offsets[i + 1] = length == RleCompressor.NO_GAIN ? -record.length() : length;
+        } else if (arena.isCompressed(i)) {
+          compressor.compress(record, data, offsets[i]);
+        } else {
+          record.getChars(0, record.length(), data, offsets[i]);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,288 @@
+package org.example;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A compact binary run-length format for bytes, as an alternative to the decimal text format of
+ * {@link StringUtilsFixed#compress(String)}. The text format spends a char per count digit plus a
+ * count for every single character, and it cannot tell a count from a run of digits; this one has
+ * neither problem.
+ *
+ * <p>Layout, after a header of {@code 'R' 'L' version varint(decoded length)}:
+ * <pre>
+ *   0x00-0x7F  t b...              literal block: the next t + 1 bytes are copied as they are
+ *   0x80-0xFE  t b                 short run: b repeated (t - 0x80) + 2 times, 2 to 128
+ *   0xFF       b varint(n - 129)   long run escape: b repeated n times, n &gt; 128
+ * </pre>
+ * Runs of three or more bytes always become run tokens; a run of two joins an open literal block,
+ * where it costs one byte less than closing the block. Varints are unsigned LEB128: seven bits per
+ * byte, low bits first, the high bit set on every byte but the last.
+ *
+ * <p>The {@link ByteBuffer} methods are relative: they consume the remaining bytes of the source
+ * and advance the position of the destination.
+ */
+public class BinaryRleCodec {
+
+  static final byte MAGIC_0 = 'R';
+  static final byte MAGIC_1 = 'L';
+  static final byte VERSION = 1;
+
+  static final int MAX_LITERAL = 128;
+  static final int MAX_SHORT_RUN = 128;
+  private static final int LONG_RUN = 0xFF;
+
+  /* Magic, version and a five-byte varint. */
+  private static final int MAX_HEADER_LENGTH = 8;
+
+  /** This method returns an upper bound of the encoded size of srcLength bytes. The worst case is
+   * an input without runs, which costs one extra byte per literal block.
+   *
+   * @param srcLength the number of bytes to be encoded
+   * @return the largest possible encoded length
+   */
+  public static int maxEncodedLength(int srcLength) {
+    return MAX_HEADER_LENGTH + srcLength + (srcLength + MAX_LITERAL - 1) / MAX_LITERAL;
+  }
+
+  /** This method encodes an array.
+   *
+   * @param src the bytes to be encoded
+   * @return the encoded bytes, including the header
+   * @throws NullPointerException if src is null
+   */
+  public byte[] encode(byte[] src) {
+    ByteBuffer in = ByteBuffer.wrap(src);
+    byte[] dst = new byte[encodedLength(in)];
+    encode(in, ByteBuffer.wrap(dst));
+    return dst;
+  }
+
+  /** This method computes the exact encoded size of the remaining bytes of src without encoding
+   * them. The position of src is not changed.
+   *
+   * @param src the bytes to be encoded
+   * @return the encoded length, including the header
+   * @throws NullPointerException if src is null
+   */
+  public int encodedLength(ByteBuffer src) {
+    int length = 3 + varintLength(src.remaining());
+    int literal = 0;
+    int i = src.position();
+    int limit = src.limit();
+    while (i < limit) {
+      int end = runEnd(src, i, limit);
+      int n = end - i;
+      if (isLiteral(n, literal)) {
+        literal += n;
+      } else {
+        length += literalLength(literal);
+        literal = 0;
+        length += n <= MAX_SHORT_RUN ? 2 : 2 + varintLength(n - MAX_SHORT_RUN - 1);
+      }
+      i = end;
+    }
+    return length + literalLength(literal);
+  }
+
+  /** This method encodes the remaining bytes of src into dst.
+   *
+   * @param src the bytes to be encoded; its position is moved to its limit
+   * @param dst the buffer the encoded bytes are put into
+   * @return the number of bytes written to dst
+   * @throws NullPointerException if src or dst is null
+   * @throws BufferOverflowException if dst has less room than {@link #encodedLength(ByteBuffer)}
+   */
+  public int encode(ByteBuffer src, ByteBuffer dst) {
+    int start = dst.position();
+    int i = src.position();
+    int limit = src.limit();
+    dst.put(MAGIC_0).put(MAGIC_1).put(VERSION);
+    putVarint(dst, limit - i);
+    int literalStart = i;
+    while (i < limit) {
+      int end = runEnd(src, i, limit);
+      int n = end - i;
+      if (!isLiteral(n, i - literalStart)) {
+        putLiterals(src, literalStart, i, dst);
+        byte b = src.get(i);
+        if (n <= MAX_SHORT_RUN) {
+          dst.put((byte) (0x80 + n - 2)).put(b);
+        } else {
+          dst.put((byte) LONG_RUN).put(b);
+          putVarint(dst, n - MAX_SHORT_RUN - 1);
+        }
+        literalStart = end;
+      }
+      i = end;
+    }
+    putLiterals(src, literalStart, limit, dst);
+    src.position(limit);
+    return dst.position() - start;
+  }
+
+  /** This method decodes an array produced by {@link #encode(byte[])}.
+   *
+   * @param src the encoded bytes
+   * @return the decoded bytes
+   * @throws NullPointerException if src is null
+   * @throws IllegalArgumentException if src is not in this format
+   */
+  public byte[] decode(byte[] src) {
+    ByteBuffer in = ByteBuffer.wrap(src);
+    byte[] dst = new byte[decodedLength(in)];
+    decode(in, ByteBuffer.wrap(dst));
+    return dst;
+  }
+
+  /** This method reads the decoded length from the header at the position of src, without
+   * changing the position.
+   *
+   * @param src the encoded bytes
+   * @return the number of bytes src decodes to
+   * @throws NullPointerException if src is null
+   * @throws IllegalArgumentException if src does not start with a valid header
+   */
+  public int decodedLength(ByteBuffer src) {
+    ByteBuffer header = src.duplicate();
+    readHeader(header);
+    return getVarint(header);
+  }
+
+  /** This method decodes the remaining bytes of src into dst.
+   *
+   * @param src the encoded bytes; its position is moved past the last run
+   * @param dst the buffer the decoded bytes are put into
+   * @return the number of bytes written to dst
+   * @throws NullPointerException if src or dst is null
+   * @throws IllegalArgumentException if src is not in this format
+   * @throws BufferOverflowException if dst has less room than {@link #decodedLength(ByteBuffer)}
+   */
+  public int decode(ByteBuffer src, ByteBuffer dst) {
+    readHeader(src);
+    int length = getVarint(src);
+    if (length > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    int start = dst.position();
+    int end = start + length;
+    while (src.hasRemaining()) {
+      int t = src.get() & 0xFF;
+      int room = end - dst.position();
+      if (t < 0x80) {
+        int n = t + 1;
+        if (n > room || n > src.remaining()) {
+          throw new IllegalArgumentException("literal block of " + n + " bytes does not fit");
+        }
+        dst.put(dst.position(), src, src.position(), n);
+        dst.position(dst.position() + n);
+        src.position(src.position() + n);
+      } else {
+        if (!src.hasRemaining()) {
+          throw new IllegalArgumentException("truncated run");
+        }
+        byte b = src.get();
+        int n;
+        if (t != LONG_RUN) {
+          n = t - 0x80 + 2;
+        } else {
+          int extra = getVarint(src);
+          n = extra <= room - MAX_SHORT_RUN - 1 ? extra + MAX_SHORT_RUN + 1 : Integer.MAX_VALUE;
+        }
+        if (n > room) {
+          throw new IllegalArgumentException("runs exceed the decoded length " + length);
+        }
+        fill(dst, b, n);
+      }
+    }
+    if (dst.position() != end) {
+      throw new IllegalArgumentException("runs fall short of the decoded length " + length);
+    }
+    return length;
+  }
+
+  private static int runEnd(ByteBuffer src, int i, int limit) {
+    byte b = src.get(i);
+    int j = i + 1;
+    while (j < limit && src.get(j) == b) {
+      j++;
+    }
+    return j;
+  }
+
+  /* A run goes into a literal block when it is a single byte, or a pair and a block is open. */
+  private static boolean isLiteral(int n, int openLiteral) {
+    return n == 1 || (n == 2 && openLiteral > 0);
+  }
+
+  private static int literalLength(int n) {
+    return n + (n + MAX_LITERAL - 1) / MAX_LITERAL;
+  }
+
+  private static void putLiterals(ByteBuffer src, int from, int to, ByteBuffer dst) {
+    while (from < to) {
+      int n = Math.min(to - from, MAX_LITERAL);
+      dst.put((byte) (n - 1));
+      dst.put(dst.position(), src, from, n);
+      dst.position(dst.position() + n);
+      from += n;
+    }
+  }
+
+  private static void readHeader(ByteBuffer src) {
+    if (src.remaining() < 4 || src.get() != MAGIC_0 || src.get() != MAGIC_1) {
+      throw new IllegalArgumentException("not binary RLE data");
+    }
+    byte version = src.get();
+    if (version != VERSION) {
+      throw new IllegalArgumentException("unsupported binary RLE version " + version);
+    }
+  }
+
+  static int varintLength(int value) {
+    int n = 1;
+    while ((value >>>= 7) != 0) {
+      n++;
+    }
+    return n;
+  }
+
+  static void putVarint(ByteBuffer dst, int value) {
+    while ((value & ~0x7F) != 0) {
+      dst.put((byte) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    dst.put((byte) value);
+  }
+
+  static int getVarint(ByteBuffer src) {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (!src.hasRemaining()) {
+        throw new IllegalArgumentException("truncated varint");
+      }
+      byte b = src.get();
+      if (shift == 28 && (b & 0xF8) != 0) {
+        throw new IllegalArgumentException("varint out of range");
+      }
+      value |= (b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+  }
+
+  private static void fill(ByteBuffer dst, byte b, int n) {
+    int pos = dst.position();
+    if (dst.hasArray()) {
+      int from = dst.arrayOffset() + pos;
+      Arrays.fill(dst.array(), from, from + n, b);
+      dst.position(pos + n);
+    } else {
+      for (int k = 0; k < n; k++) {
+        dst.put(b);
+      }
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * A string kept as its runs of repeated characters, e.g. "aabcccccaaa" is stored as the runs
+ * a×2, b×1, c×5, a×3. It implements {@link CharSequence} directly over the runs, so highly repetitive
+ * text can be read, sliced, compared and hashed without ever being inflated.
+ *
+ * <p>{@link #charAt(int)} binary-searches the run ends and costs O(log runs). {@link #hashCode()}
+ * equals the hash code of the inflated string and is computed in O(runs · log run length).
+ * Two compressed strings are equal when their runs are; a compressed string is never equal to a
+ * {@link String}, as usual for CharSequence implementations.
+ */
+public final class CompressedString implements CharSequence {
+
+  private static final CompressedString EMPTY = new CompressedString(new char[0], new int[0]);
+
+  private final char[] chars;
+  /* ends[i] is the offset just after run i, so run i covers [ends[i - 1], ends[i]). */
+  private final int[] ends;
+  private int hash;
+
+  private CompressedString(char[] chars, int[] ends) {
+    this.chars = chars;
+    this.ends = ends;
+  }
+
+  /** This method splits a char sequence into its runs.
+   *
+   * @param str the chars to be compressed
+   * @return the runs of str
+   * @throws NullPointerException if str is null
+   */
+  public static CompressedString of(CharSequence str) {
+    if (str instanceof CompressedString) {
+      return (CompressedString) str;
+    }
+    int len = str.length();
+    if (len == 0) {
+      return EMPTY;
+    }
+    char[] chars = new char[16];
+    int[] ends = new int[16];
+    int runs = 0;
+    int i = 0;
+    while (i < len) {
+      char c = str.charAt(i);
+      int end = i + 1;
+      while (end < len && str.charAt(end) == c) {
+        end++;
+      }
+      if (runs == chars.length) {
+        chars = Arrays.copyOf(chars, runs * 2);
+        ends = Arrays.copyOf(ends, runs * 2);
+      }
+      chars[runs] = c;
+      ends[runs] = end;
+      runs++;
+      i = end;
+    }
+    return new CompressedString(Arrays.copyOf(chars, runs), Arrays.copyOf(ends, runs));
+  }
+
+  /**
+   * @return the number of runs
+   */
+  public int runCount() {
+    return chars.length;
+  }
+
+  /**
+   * @param run the run index
+   * @return the char repeated by the run
+   * @throws IndexOutOfBoundsException if run is not a run index
+   */
+  public char runChar(int run) {
+    return chars[run];
+  }
+
+  /**
+   * @param run the run index
+   * @return the number of times the char of the run is repeated
+   * @throws IndexOutOfBoundsException if run is not a run index
+   */
+  public int runLength(int run) {
+    return ends[run] - (run == 0 ? 0 : ends[run - 1]);
+  }
+
+  @Override
+  public int length() {
+    return ends.length == 0 ? 0 : ends[ends.length - 1];
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length()) {
+      throw new IndexOutOfBoundsException("index " + index + " out of bounds for length " + length());
+    }
+    return chars[runOf(index)];
+  }
+
+  @Override
+  public CompressedString subSequence(int start, int end) {
+    if (start < 0 || end > length() || start > end) {
+      throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+    }
+    if (start == end) {
+      return EMPTY;
+    }
+    int first = runOf(start);
+    int last = runOf(end - 1);
+    char[] subChars = Arrays.copyOfRange(chars, first, last + 1);
+    int[] subEnds = new int[subChars.length];
+    for (int r = 0; r < subEnds.length; r++) {
+      subEnds[r] = Math.min(ends[first + r], end) - start;
+    }
+    return new CompressedString(subChars, subEnds);
+  }
+
+  /** This method returns the text form of {@link StringUtilsFixed#compress(String)}: every run as
+   * its char followed by its count, or the inflated string when that is not shorter.
+   *
+   * @return the run-length encoded text
+   */
+  public String toRleString() {
+    StringBuilder compressed = new StringBuilder();
+    for (int r = 0; r < chars.length && compressed.length() < length(); r++) {
+      compressed.append(chars[r]).append(runLength(r));
+    }
+    return compressed.length() < length() ? compressed.toString() : toString();
+  }
+
+  @Override
+  public String toString() {
+    char[] out = new char[length()];
+    int from = 0;
+    for (int r = 0; r < chars.length; r++) {
+      Arrays.fill(out, from, ends[r], chars[r]);
+      from = ends[r];
+    }
+    return new String(out);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CompressedString)) {
+      return false;
+    }
+    CompressedString other = (CompressedString) o;
+    return Arrays.equals(chars, other.chars) && Arrays.equals(ends, other.ends);
+  }
+
+  /** The hash code of the inflated string. A run of n chars c turns h into
+   * h · 31^n + c · (31^(n-1) + ... + 31 + 1); both factors are built by repeated squaring.
+   */
+  @Override
+  public int hashCode() {
+    int h = hash;
+    if (h == 0 && chars.length > 0) {
+      for (int r = 0; r < chars.length; r++) {
+        int n = runLength(r);
+        int power = 1;
+        int sum = 0;
+        int base = 31;
+        int baseSum = 1;
+        while (n > 0) {
+          if ((n & 1) != 0) {
+            sum = sum * base + baseSum;
+            power *= base;
+          }
+          baseSum = baseSum * base + baseSum;
+          base *= base;
+          n >>>= 1;
+        }
+        h = h * power + chars[r] * sum;
+      }
+      hash = h;
+    }
+    return h;
+  }
+
+  /* The run that covers index. */
+  private int runOf(int index) {
+    int found = Arrays.binarySearch(ends, index);
+    return found >= 0 ? found + 1 : -found - 1;
+  }
+}
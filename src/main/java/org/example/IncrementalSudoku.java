@@ -0,0 +1,221 @@
+package org.example;
+
+import java.util.Objects;
+
+/**
+ * A Sudoku board that keeps its validity up to date as cells change, for callers that would
+ * otherwise run {@link SudokuFixed#isValidSudoku(char[][])} on the whole board after every move.
+ * {@link #place}, {@link #clear}, {@link #canPlace} and {@link #isValid()} all run in O(1).
+ *
+ * <p>For each of the 27 units (rows, columns and boxes) the board counts how often every digit
+ * occurs, and keeps a mask of the digits that occur at all. A board may hold repeated digits, e.g.
+ * after {@link #of(char[][])} of an invalid board or a move that breaks a rule; the number of
+ * surplus digits over all units is maintained as well, and the board is valid exactly when there
+ * is none, which is what isValidSudoku answers for the same cells.
+ */
+public final class IncrementalSudoku {
+
+    private final byte[] cells = new byte[SudokuBoard.CELLS];
+    /* counts[9 * unit + d - 1]; units 0-8 are rows, 9-17 columns, 18-26 boxes */
+    private final byte[] counts = new byte[27 * 9];
+    /* bit d - 1 of masks[unit] is set when digit d occurs in the unit */
+    private final int[] masks = new int[27];
+    private int surplus;
+    private int filled;
+
+    /** Creates an empty board. */
+    public IncrementalSudoku() {
+    }
+
+    /**
+     * This method creates a board from a 9 x 9 array as taken by
+     * {@link SudokuFixed#isValidSudoku(char[][])}. The board may be invalid.
+     * @param board the board, '.' for an empty cell
+     * @return the board
+     * @throws IllegalArgumentException if board is not 9 x 9 or a cell is not '.' or '1'-'9'
+     */
+    public static IncrementalSudoku of(char[][] board) {
+        return of(SudokuBoard.of(board));
+    }
+
+    /**
+     * This method creates a board with the cells of a flat board. The board may be invalid.
+     * @param board the board
+     * @return the board
+     * @throws NullPointerException if board is null
+     */
+    public static IncrementalSudoku of(SudokuBoard board) {
+        IncrementalSudoku s = new IncrementalSudoku();
+        byte[] cells = board.cells();
+        for (int i = 0; i < SudokuBoard.CELLS; i++) {
+            if (cells[i] != 0) {
+                s.place(i / 9, i % 9, cells[i]);
+            }
+        }
+        return s;
+    }
+
+    /**
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @return the digit of the cell, 0 if it is empty
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     */
+    public int get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    /**
+     * This method puts a digit into a cell, replacing whatever it held. The move is made even if it
+     * repeats a digit; {@link #isValid()} then reports the board as invalid.
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @param digit the digit, 1-9
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     * @throws IllegalArgumentException if digit is not 1-9
+     */
+    public void place(int row, int col, int digit) {
+        int i = index(row, col);
+        if (digit < 1 || digit > 9) {
+            throw new IllegalArgumentException("digit must be 1-9: " + digit);
+        }
+        if (cells[i] != 0) {
+            remove(row, col, cells[i]);
+        } else {
+            filled++;
+        }
+        cells[i] = (byte) digit;
+        add(row, col, digit);
+    }
+
+    /**
+     * This method empties a cell; an empty cell stays empty.
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     */
+    public void clear(int row, int col) {
+        int i = index(row, col);
+        if (cells[i] != 0) {
+            remove(row, col, cells[i]);
+            cells[i] = 0;
+            filled--;
+        }
+    }
+
+    /**
+     * This method checks if a digit can go into a cell without repeating in its row, column or box,
+     * i.e. if no other cell of them holds it. What the cell holds now does not matter.
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @param digit the digit, 1-9
+     * @return true if placing digit keeps its row, column and box free of repeats of it
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     * @throws IllegalArgumentException if digit is not 1-9
+     */
+    public boolean canPlace(int row, int col, int digit) {
+        int i = index(row, col);
+        if (digit < 1 || digit > 9) {
+            throw new IllegalArgumentException("digit must be 1-9: " + digit);
+        }
+        int bit = 1 << (digit - 1);
+        if (((masks[row] | masks[9 + col] | masks[18 + box(row, col)]) & bit) == 0) {
+            return true;
+        }
+        // the only occurrence may be the cell itself
+        if (cells[i] != digit) {
+            return false;
+        }
+        int d = digit - 1;
+        return counts[9 * row + d] == 1 && counts[9 * (9 + col) + d] == 1
+                && counts[9 * (18 + box(row, col)) + d] == 1;
+    }
+
+    /**
+     * This method returns the digits that no other cell in the row, column or box of an empty cell
+     * holds, as a mask with bit d - 1 set for digit d.
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @return the candidate mask of the cell, or 0 if the cell is not empty
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     */
+    public int candidates(int row, int col) {
+        if (cells[index(row, col)] != 0) {
+            return 0;
+        }
+        return ~(masks[row] | masks[9 + col] | masks[18 + box(row, col)]) & 0x1FF;
+    }
+
+    /**
+     * This method determines if no digit repeats in a row, column or box, with the result of
+     * {@link SudokuFixed#isValidSudoku(char[][])} for the same cells.
+     * @return true if valid, false otherwise
+     */
+    public boolean isValid() {
+        return surplus == 0;
+    }
+
+    /**
+     * @return the number of cells that hold a digit
+     */
+    public int filled() {
+        return filled;
+    }
+
+    /**
+     * @return a flat copy of the board
+     */
+    public SudokuBoard toBoard() {
+        SudokuBoard board = new SudokuBoard();
+        System.arraycopy(cells, 0, board.cells(), 0, SudokuBoard.CELLS);
+        return board;
+    }
+
+    /**
+     * @return a new 9 x 9 array for {@link SudokuFixed#isValidSudoku(char[][])}
+     */
+    public char[][] toCharArray() {
+        return toBoard().toCharArray();
+    }
+
+    /**
+     * @return the board as an 81-char line, '.' for an empty cell
+     */
+    @Override
+    public String toString() {
+        return toBoard().toString();
+    }
+
+    private void add(int row, int col, int digit) {
+        count(row, digit, 1);
+        count(9 + col, digit, 1);
+        count(18 + box(row, col), digit, 1);
+    }
+
+    private void remove(int row, int col, int digit) {
+        count(row, digit, -1);
+        count(9 + col, digit, -1);
+        count(18 + box(row, col), digit, -1);
+    }
+
+    /* Adjusts the count of digit in unit by delta (+1 or -1), and the mask and surplus with it. */
+    private void count(int unit, int digit, int delta) {
+        int k = 9 * unit + digit - 1;
+        int before = counts[k];
+        int after = before + delta;
+        counts[k] = (byte) after;
+        surplus += Math.max(after - 1, 0) - Math.max(before - 1, 0);
+        int bit = 1 << (digit - 1);
+        masks[unit] = after > 0 ? masks[unit] | bit : masks[unit] & ~bit;
+    }
+
+    private static int box(int row, int col) {
+        return row / 3 * 3 + col / 3;
+    }
+
+    private static int index(int row, int col) {
+        Objects.checkIndex(row, 9);
+        Objects.checkIndex(col, 9);
+        return 9 * row + col;
+    }
+}
@@ -0,0 +1,233 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * The compressed form of a string, as returned by {@link StringUtilsFixed#compress(String)}, together
+ * with a sparse index that allows reading the original string without decompressing it.
+ *
+ * <p>While compressing, the original offset and the compressed offset of every {@code k}-th run are
+ * sampled. {@link #charAt(int)} binary-searches the samples and then walks at most {@code k} runs,
+ * so a point read costs O(log(runs / k) + k). The index also marks where every run starts in the
+ * compressed text (one bit per compressed char), so runs of digit characters, which the text format
+ * cannot delimit on its own, are read correctly.
+ *
+ * <p>When compression does not pay off, the compressed form is the original string and reads go
+ * straight to it.
+ */
+public final class IndexedRle {
+
+  static final int DEFAULT_INTERVAL = 16;
+
+  private final String original;
+  private final String compressed;
+  private final int length;
+  private final int interval;
+  private final int runs;
+  private final int[] sampleOriginal;
+  private final int[] sampleCompressed;
+  private final long[] runStarts;
+
+  private IndexedRle(String original, String compressed, int length, int interval, int runs,
+      int[] sampleOriginal, int[] sampleCompressed, long[] runStarts) {
+    this.original = original;
+    this.compressed = compressed;
+    this.length = length;
+    this.interval = interval;
+    this.runs = runs;
+    this.sampleOriginal = sampleOriginal;
+    this.sampleCompressed = sampleCompressed;
+    this.runStarts = runStarts;
+  }
+
+  /** This method compresses str like StringUtilsFixed.compress and samples every
+   * {@value #DEFAULT_INTERVAL}th run.
+   *
+   * @param str the input string to be compressed
+   * @return the compressed form with its index
+   * @throws NullPointerException if str is null
+   */
+  public static IndexedRle compress(String str) {
+    return compress(str, DEFAULT_INTERVAL);
+  }
+
+  /** This method compresses str like StringUtilsFixed.compress and samples every k-th run.
+   *
+   * @param str the input string to be compressed
+   * @param k the sampling interval in runs; smaller means faster reads and a larger index
+   * @return the compressed form with its index
+   * @throws NullPointerException if str is null
+   * @throws IllegalArgumentException if k is less than 1
+   */
+  public static IndexedRle compress(String str, int k) {
+    if (k < 1) {
+      throw new IllegalArgumentException("sampling interval must be positive: " + k);
+    }
+    int len = str.length();
+    StringBuilder text = new StringBuilder();
+    int[] sampleOriginal = new int[16];
+    int[] sampleCompressed = new int[16];
+    long[] runStarts = new long[16];
+    int runs = 0;
+    int i = 0;
+    while (i < len && text.length() < len) {
+      char c = str.charAt(i);
+      int end = i + 1;
+      while (end < len && str.charAt(end) == c) {
+        end++;
+      }
+      if (runs % k == 0) {
+        int sample = runs / k;
+        if (sample == sampleOriginal.length) {
+          sampleOriginal = Arrays.copyOf(sampleOriginal, sample * 2);
+          sampleCompressed = Arrays.copyOf(sampleCompressed, sample * 2);
+        }
+        sampleOriginal[sample] = i;
+        sampleCompressed[sample] = text.length();
+      }
+      int start = text.length();
+      if ((start >>> 6) >= runStarts.length) {
+        runStarts = Arrays.copyOf(runStarts, runStarts.length * 2);
+      }
+      runStarts[start >>> 6] |= 1L << start;
+      text.append(c).append(end - i);
+      runs++;
+      i = end;
+    }
+    if (text.length() >= len) {
+      return new IndexedRle(str, str, len, k, 0, null, null, null);
+    }
+    int samples = (runs + k - 1) / k;
+    return new IndexedRle(null, text.toString(), len, k, runs,
+        Arrays.copyOf(sampleOriginal, samples), Arrays.copyOf(sampleCompressed, samples),
+        Arrays.copyOf(runStarts, (text.length() + 63) >>> 6));
+  }
+
+  /**
+   * @return the compressed string, equal to what StringUtilsFixed.compress returns
+   */
+  public String compressed() {
+    return compressed;
+  }
+
+  /**
+   * @return true if compression paid off, false if {@link #compressed()} is the original string
+   */
+  public boolean isCompressed() {
+    return original == null;
+  }
+
+  /**
+   * @return the length of the original string
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * @return the number of runs, or 0 if the string is not compressed
+   */
+  public int runCount() {
+    return runs;
+  }
+
+  /** This method reads one char of the original string.
+   *
+   * @param n the index in the original string
+   * @return the char at index n of the original string
+   * @throws IndexOutOfBoundsException if n is negative or not less than {@link #length()}
+   */
+  public char charAt(int n) {
+    if (n < 0 || n >= length) {
+      throw new IndexOutOfBoundsException("index " + n + " out of bounds for length " + length);
+    }
+    if (original != null) {
+      return original.charAt(n);
+    }
+    int sample = sampleFor(n);
+    int pos = sampleCompressed[sample];
+    int offset = sampleOriginal[sample];
+    while (true) {
+      int next = nextRunStart(pos);
+      int count = count(pos, next);
+      if (n < offset + count) {
+        return compressed.charAt(pos);
+      }
+      offset += count;
+      pos = next;
+    }
+  }
+
+  /** This method extracts part of the original string, decoding only the runs it covers.
+   *
+   * @param begin the index of the first char, inclusive
+   * @param end the index of the last char, exclusive
+   * @return the original string from begin to end
+   * @throws IndexOutOfBoundsException if begin is negative, end is larger than {@link #length()},
+   *     or begin is larger than end
+   */
+  public String substring(int begin, int end) {
+    if (begin < 0 || end > length || begin > end) {
+      throw new IndexOutOfBoundsException("begin " + begin + ", end " + end + ", length " + length);
+    }
+    if (original != null) {
+      return original.substring(begin, end);
+    }
+    char[] out = new char[end - begin];
+    if (out.length == 0) {
+      return "";
+    }
+    int sample = sampleFor(begin);
+    int pos = sampleCompressed[sample];
+    int offset = sampleOriginal[sample];
+    int filled = 0;
+    while (filled < out.length) {
+      int next = nextRunStart(pos);
+      int runEnd = offset + count(pos, next);
+      if (runEnd > begin) {
+        int to = Math.min(runEnd, end) - begin;
+        Arrays.fill(out, filled, to, compressed.charAt(pos));
+        filled = to;
+      }
+      offset = runEnd;
+      pos = next;
+    }
+    return new String(out);
+  }
+
+  @Override
+  public String toString() {
+    return compressed;
+  }
+
+  /* The last sample whose original offset is not past n. */
+  private int sampleFor(int n) {
+    int found = Arrays.binarySearch(sampleOriginal, n);
+    return found >= 0 ? found : -found - 2;
+  }
+
+  /* The compressed offset of the run after the one starting at pos. */
+  private int nextRunStart(int pos) {
+    int from = pos + 1;
+    int word = from >>> 6;
+    if (word >= runStarts.length) {
+      return compressed.length();
+    }
+    long bits = runStarts[word] & (-1L << from);
+    while (bits == 0) {
+      if (++word == runStarts.length) {
+        return compressed.length();
+      }
+      bits = runStarts[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  private int count(int pos, int next) {
+    int count = 0;
+    for (int i = pos + 1; i < next; i++) {
+      count = 10 * count + (compressed.charAt(i) - '0');
+    }
+    return count;
+  }
+}
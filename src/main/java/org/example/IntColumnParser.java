@@ -0,0 +1,182 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * Parses delimited integer fields, such as the integer columns of a CSV file, straight from a
+ * {@link ByteBuffer} (heap, direct or mapped) into an {@code int[]} or {@code long[]}. Fields are
+ * separated by the delimiter and rows by '\n', optionally preceded by '\r'; the values are stored
+ * in field order, row after row.
+ *
+ * <p>Every field follows the syntax and clamping of {@link NumberParser}: leading spaces, an
+ * optional sign and digits, 0 for a field without digits, and the bound on the side of the sign on
+ * overflow. A field that does not parse is stored as 0. Both cases are reported to a
+ * {@link BadFieldHandler} with the row and column of the field, so a bad field costs no exception
+ * and does not stop the column.
+ *
+ * <p>Digits are read eight at a time as one little-endian long: a single test tells whether all
+ * eight bytes are digits, and three multiplications turn them into their value (SIMD within a
+ * register). The rest of a field is parsed a byte at a time.
+ */
+public class IntColumnParser {
+
+  /** Receives the fields that did not parse cleanly. */
+  @FunctionalInterface
+  public interface BadFieldHandler {
+    /**
+     * @param row the row of the field, counted from 0 at the position src had
+     * @param column the column of the field, counted from 0
+     * @param status {@link NumberParser#INVALID} if the field was stored as 0, or
+     *     {@link NumberParser#OVERFLOW} if it was clamped
+     */
+    void badField(int row, int column, int status);
+  }
+
+  private static final long ZEROS = 0x3030303030303030L;
+  private static final long HIGH_NIBBLES = 0xF0F0F0F0F0F0F0F0L;
+  /* Below this magnitude one more digit cannot overflow a long. The magnitude of a negative long
+   * field can reach 2^63, so it must be compared unsigned. */
+  private static final long UNCHECKED = 100_000_000_000_000_000L;
+  private static final long SWAR_UNCHECKED = 10_000_000_000L;
+
+  private final byte delimiter;
+
+  /**
+   * @param delimiter the byte between the fields of a row, e.g. ','
+   * @throws IllegalArgumentException if delimiter is '\n', '\r', a digit, a sign or a space
+   */
+  public IntColumnParser(char delimiter) {
+    if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r' || delimiter == ' ' || delimiter == '+'
+        || delimiter == '-' || (delimiter >= '0' && delimiter <= '9')) {
+      throw new IllegalArgumentException("unusable delimiter: " + (int) delimiter);
+    }
+    this.delimiter = (byte) delimiter;
+  }
+
+  /** This method parses the fields of src into dst until either runs out. The position of src is
+   * advanced past the fields that were parsed, so a large input can be parsed in batches.
+   *
+   * @param src the fields, one ASCII char per byte
+   * @param dst the array the values are stored in
+   * @param dstOff the index the first value is stored at
+   * @param handler told about every field that was invalid or clamped
+   * @return the number of values stored
+   * @throws NullPointerException if src, dst or handler is null
+   * @throws IndexOutOfBoundsException if dstOff is outside dst
+   */
+  public int parse(ByteBuffer src, int[] dst, int dstOff, BadFieldHandler handler) {
+    Objects.checkIndex(dstOff, dst.length + 1);
+    return parse(src, dst, null, dstOff, dst.length - dstOff, handler);
+  }
+
+  /** This method parses the fields of src into dst until either runs out. The position of src is
+   * advanced past the fields that were parsed, so a large input can be parsed in batches.
+   *
+   * @param src the fields, one ASCII char per byte
+   * @param dst the array the values are stored in
+   * @param dstOff the index the first value is stored at
+   * @param handler told about every field that was invalid or clamped
+   * @return the number of values stored
+   * @throws NullPointerException if src, dst or handler is null
+   * @throws IndexOutOfBoundsException if dstOff is outside dst
+   */
+  public int parse(ByteBuffer src, long[] dst, int dstOff, BadFieldHandler handler) {
+    Objects.checkIndex(dstOff, dst.length + 1);
+    return parse(src, null, dst, dstOff, dst.length - dstOff, handler);
+  }
+
+  private int parse(ByteBuffer src, int[] ints, long[] longs, int dstOff, int room, BadFieldHandler handler) {
+    Objects.requireNonNull(handler);
+    ByteBuffer le = src.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    long max = ints != null ? Integer.MAX_VALUE : Long.MAX_VALUE;
+    int i = src.position();
+    int end = src.limit();
+    int row = 0;
+    int column = 0;
+    int n = 0;
+    while (i < end && n < room) {
+      while (i < end && le.get(i) == ' ') {
+        i++;
+      }
+      boolean negative = false;
+      if (i < end && (le.get(i) == '-' || le.get(i) == '+')) {
+        negative = le.get(i) == '-';
+        i++;
+      }
+      // the magnitude is unsigned, so that it can hold -Long.MIN_VALUE
+      long limit = negative ? max + 1 : max;
+      long magnitude = 0;
+      boolean overflow = false;
+      while (i + 8 <= end && magnitude < SWAR_UNCHECKED) {
+        long word = le.getLong(i);
+        if (!isEightDigits(word)) {
+          break;
+        }
+        magnitude = magnitude * 100_000_000 + eightDigits(word);
+        i += 8;
+      }
+      for (; i < end; i++) {
+        int digit = le.get(i) - '0';
+        if (digit < 0 || digit > 9) {
+          break;
+        }
+        if (Long.compareUnsigned(magnitude, UNCHECKED) < 0) {
+          magnitude = magnitude * 10 + digit;
+        } else if (!overflow) {
+          if (Long.compareUnsigned(magnitude, Long.divideUnsigned(limit - digit, 10)) > 0) {
+            overflow = true;
+          } else {
+            magnitude = magnitude * 10 + digit;
+          }
+        }
+      }
+      overflow |= Long.compareUnsigned(magnitude, limit) > 0;
+      long value = overflow ? (negative ? -limit : limit) : (negative ? -magnitude : magnitude);
+      int terminator = i < end ? le.get(i) : '\n';
+      if (terminator == '\r' && (i + 1 == end || le.get(i + 1) == '\n')) {
+        terminator = '\n';
+        i++;
+      }
+      if (terminator != '\n' && terminator != delimiter) {
+        while (i < end && le.get(i) != delimiter && le.get(i) != '\n') {
+          i++;
+        }
+        terminator = i < end ? le.get(i) : '\n';
+        value = 0;
+        handler.badField(row, column, NumberParser.INVALID);
+      } else if (overflow) {
+        handler.badField(row, column, NumberParser.OVERFLOW);
+      }
+      if (ints != null) {
+        ints[dstOff + n] = (int) value;
+      } else {
+        longs[dstOff + n] = value;
+      }
+      n++;
+      i = Math.min(i + 1, end);
+      if (terminator == '\n') {
+        row++;
+        column = 0;
+      } else {
+        column++;
+      }
+    }
+    src.position(i);
+    return n;
+  }
+
+  /* True if every byte of word is '0'-'9': their high nibbles are 3 and adding 6 carries into none. */
+  static boolean isEightDigits(long word) {
+    return ((word & HIGH_NIBBLES) | (((word + 0x0606060606060606L) & HIGH_NIBBLES) >>> 4)) == 0x3333333333333333L;
+  }
+
+  /* The value of eight digits, the first one in the lowest byte: pairs, then quads, then all. */
+  static long eightDigits(long word) {
+    long v = word - ZEROS;
+    v = (v * 10 + (v >>> 8)) & 0x00FF00FF00FF00FFL;
+    v = (v * 100 + (v >>> 16)) & 0x0000FFFF0000FFFFL;
+    return (v * 10000 + (v >>> 32)) & 0xFFFFFFFFL;
+  }
+}
@@ -0,0 +1,108 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * A map from non-negative int keys to int counts, with open addressing and linear probing over two
+ * parallel arrays, so counting never boxes. Keys are never removed: a count that drops back to zero
+ * keeps its slot. The table doubles when it is half full.
+ */
+final class IntCounter {
+
+  private static final int FREE = -1;
+
+  private int[] keys;
+  private int[] counts;
+  private int size;
+
+  IntCounter() {
+    this(16);
+  }
+
+  /**
+   * @param expected the number of distinct keys expected, to size the table once
+   */
+  IntCounter(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(4, expected) * 2 - 1) << 1;
+    keys = new int[capacity];
+    counts = new int[capacity];
+    Arrays.fill(keys, FREE);
+  }
+
+  /** Adds delta to the count of key.
+   *
+   * @param key a non-negative key
+   * @param delta the amount to add, may be negative
+   * @return the new count of key
+   */
+  int add(int key, int delta) {
+    int slot = slot(key);
+    if (keys[slot] == FREE) {
+      if (2 * (size + 1) > keys.length) {
+        grow();
+        slot = slot(key);
+      }
+      keys[slot] = key;
+      size++;
+    }
+    return counts[slot] += delta;
+  }
+
+  /** Replaces the count of key, for callers that keep an index rather than a count.
+   *
+   * @param key a non-negative key
+   * @param value the new count
+   */
+  void put(int key, int value) {
+    add(key, value - get(key));
+  }
+
+  /**
+   * @param key a non-negative key
+   * @return the count of key, 0 if it was never added
+   */
+  int get(int key) {
+    int slot = slot(key);
+    return keys[slot] == FREE ? 0 : counts[slot];
+  }
+
+  /**
+   * @return the number of distinct keys ever added since the last clear
+   */
+  int size() {
+    return size;
+  }
+
+  /** Forgets every key but keeps the table. */
+  void clear() {
+    Arrays.fill(keys, FREE);
+    Arrays.fill(counts, 0);
+    size = 0;
+  }
+
+  /* The slot holding key, or the free slot where it would go. */
+  private int slot(int key) {
+    int mask = keys.length - 1;
+    int h = key * 0x9E3779B9;
+    int slot = (h ^ (h >>> 16)) & mask;
+    while (keys[slot] != key && keys[slot] != FREE) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void grow() {
+    int[] oldKeys = keys;
+    int[] oldCounts = counts;
+    keys = new int[oldKeys.length * 2];
+    counts = new int[oldKeys.length * 2];
+    Arrays.fill(keys, FREE);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != FREE) {
+        int slot = slot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        counts[slot] = oldCounts[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Splits a file into chunks of roughly equal size that only end right after a '\n' (or at the end
+ * of the file), so that each chunk holds whole lines and can be mapped and scanned on its own.
+ * Every chunk is mapped separately, which keeps each mapping under 2 GB even when the file is
+ * larger.
+ */
+final class LineChunks {
+
+  private static final int PROBE_SIZE = 4096;
+
+  private LineChunks() {
+  }
+
+  /** Finds the chunk boundaries of a file.
+   *
+   * @param ch the file
+   * @param chunkSize the size a chunk should have; a chunk is longer when its last line reaches
+   *     past it
+   * @return the boundaries b, with b[0] = 0, b[b.length - 1] = the file size, and chunk i spanning
+   *     [b[i], b[i + 1]); a single element 0 for an empty file
+   * @throws IOException if reading the file fails, or a line is too long to be mapped
+   */
+  static long[] split(FileChannel ch, long chunkSize) throws IOException {
+    long size = ch.size();
+    long[] bounds = new long[8];
+    int n = 1;
+    ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+    long start = 0;
+    while (start < size) {
+      long end = start + chunkSize >= size ? size : lineEnd(ch, start + chunkSize, size, probe);
+      if (end - start > Integer.MAX_VALUE) {
+        throw new IOException("line at offset " + start + " is too long to be mapped");
+      }
+      if (n == bounds.length) {
+        bounds = Arrays.copyOf(bounds, 2 * n);
+      }
+      bounds[n++] = end;
+      start = end;
+    }
+    return Arrays.copyOf(bounds, n);
+  }
+
+  /** Maps [from, to) read-only. */
+  static MappedByteBuffer map(FileChannel ch, long from, long to) throws IOException {
+    return ch.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+  }
+
+  /* The offset just past the first '\n' at or after pos, or size if there is none. */
+  private static long lineEnd(FileChannel ch, long pos, long size, ByteBuffer probe) throws IOException {
+    while (pos < size) {
+      probe.clear();
+      int n = ch.read(probe, pos);
+      if (n <= 0) {
+        break;
+      }
+      for (int i = 0; i < n; i++) {
+        if (probe.get(i) == '\n') {
+          return pos + i + 1;
+        }
+      }
+      pos += n;
+    }
+    return size;
+  }
+}
@@ -0,0 +1,317 @@
+package org.example;
+
+import java.util.Objects;
+
+/**
+ * Parses decimal integers in place, from a range of a {@link CharSequence}, {@code char[]} or
+ * {@code byte[]}, without substrings and without exceptions. The accepted syntax is the one of
+ * {@link StringUtilsFixed#stringToInteger(String)}: leading spaces, an optional sign and digits up
+ * to the end of the range; a range of only spaces, or only a sign, is 0. Bytes are read as ASCII.
+ *
+ * <p>Instead of throwing, every method leaves a status behind that {@link #status()} returns until
+ * the next call: {@link #OK}, {@link #INVALID} when the range contains anything else (the result is
+ * then 0), or {@link #OVERFLOW}. On overflow the int and the saturating long methods clamp to the
+ * bound on the side of the sign, as the stringToInteger javadoc describes; unlike its code, this
+ * includes negative values. The plain long methods return 0 instead. Since the status is kept in
+ * the parser, a parser must not be shared by threads.
+ */
+public final class NumberParser {
+
+  /** The last range was a valid number within range. */
+  public static final int OK = 0;
+  /** The last range was not a number; the result was 0. */
+  public static final int INVALID = 1;
+  /** The last range was a number out of range; the result was clamped, or 0 for parseLong. */
+  public static final int OVERFLOW = 2;
+
+  /* Integer.parseInt style bounds for accumulating a negative total. */
+  private static final int POSITIVE_LIMIT = -Integer.MAX_VALUE;
+  private static final int POSITIVE_MULTIPLY_MIN = POSITIVE_LIMIT / 10;
+  private static final int NEGATIVE_MULTIPLY_MIN = Integer.MIN_VALUE / 10;
+
+  private int status = OK;
+
+  /**
+   * @return the status of the last parse: {@link #OK}, {@link #INVALID} or {@link #OVERFLOW}
+   */
+  public int status() {
+    return status;
+  }
+
+  /** This method is a drop-in for {@link StringUtilsFixed#stringToInteger(String)} that walks str
+   * once. StringUtilsFixed first validates every char and then accumulates the digits, computing
+   * the overflow bound with a division per digit. Here each char is validated as it is
+   * accumulated, and overflow is detected against bounds computed once for each sign. As its
+   * javadoc says, a value below Integer.MIN_VALUE is clamped to it rather than wrapped around.
+   *
+   * @param str the input string
+   * @return the integer value represented by str, clamped to the int range
+   * @throws NullPointerException if str is null
+   * @throws NumberFormatException if str contains any non-digit characters
+   */
+  public static int stringToInteger(String str) {
+    int len = str.length();
+    int i = 0;
+    while (i < len && str.charAt(i) == ' ') {
+      i++;
+    }
+    if (i == len) {
+      return 0;
+    }
+    char first = str.charAt(i);
+    boolean negative = first == '-';
+    if (negative || first == '+') {
+      i++;
+    }
+    int limit = negative ? Integer.MIN_VALUE : POSITIVE_LIMIT;
+    int multiplyMin = negative ? NEGATIVE_MULTIPLY_MIN : POSITIVE_MULTIPLY_MIN;
+    int total = 0;
+    boolean overflow = false;
+    for (; i < len; i++) {
+      int digit = str.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        throw new NumberFormatException("For input string: \"" + str + "\"");
+      }
+      if (total < multiplyMin || total * 10 < limit + digit) {
+        overflow = true;
+      } else {
+        total = total * 10 - digit;
+      }
+    }
+    if (overflow) {
+      return negative ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+    return negative ? total : -total;
+  }
+
+  /** This method parses s[off, off + len) as an int, clamped to the int range.
+   *
+   * @param s the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if s is null
+   * @throws IndexOutOfBoundsException if the range is outside s
+   */
+  public int parseInt(CharSequence s, int off, int len) {
+    return (int) parse(s, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+  }
+
+  /** This method parses a[off, off + len) as an int, clamped to the int range.
+   *
+   * @param a the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public int parseInt(char[] a, int off, int len) {
+    return (int) parse(a, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+  }
+
+  /** This method parses a[off, off + len) as an int, clamped to the int range.
+   *
+   * @param a the input, one ASCII char per byte
+   * @param off the index of the first byte
+   * @param len the number of bytes
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public int parseInt(byte[] a, int off, int len) {
+    return (int) parse(a, off, len, Integer.MIN_VALUE, Integer.MAX_VALUE, true);
+  }
+
+  /** This method parses s[off, off + len) as a long.
+   *
+   * @param s the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, or 0 if the range is invalid or out of range
+   * @throws NullPointerException if s is null
+   * @throws IndexOutOfBoundsException if the range is outside s
+   */
+  public long parseLong(CharSequence s, int off, int len) {
+    return parse(s, off, len, Long.MIN_VALUE, Long.MAX_VALUE, false);
+  }
+
+  /** This method parses a[off, off + len) as a long.
+   *
+   * @param a the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, or 0 if the range is invalid or out of range
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public long parseLong(char[] a, int off, int len) {
+    return parse(a, off, len, Long.MIN_VALUE, Long.MAX_VALUE, false);
+  }
+
+  /** This method parses a[off, off + len) as a long.
+   *
+   * @param a the input, one ASCII char per byte
+   * @param off the index of the first byte
+   * @param len the number of bytes
+   * @return the value, or 0 if the range is invalid or out of range
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public long parseLong(byte[] a, int off, int len) {
+    return parse(a, off, len, Long.MIN_VALUE, Long.MAX_VALUE, false);
+  }
+
+  /** This method parses s[off, off + len) as a long, clamped to the long range.
+   *
+   * @param s the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if s is null
+   * @throws IndexOutOfBoundsException if the range is outside s
+   */
+  public long parseLongSaturating(CharSequence s, int off, int len) {
+    return parse(s, off, len, Long.MIN_VALUE, Long.MAX_VALUE, true);
+  }
+
+  /** This method parses a[off, off + len) as a long, clamped to the long range.
+   *
+   * @param a the input
+   * @param off the index of the first char
+   * @param len the number of chars
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public long parseLongSaturating(char[] a, int off, int len) {
+    return parse(a, off, len, Long.MIN_VALUE, Long.MAX_VALUE, true);
+  }
+
+  /** This method parses a[off, off + len) as a long, clamped to the long range.
+   *
+   * @param a the input, one ASCII char per byte
+   * @param off the index of the first byte
+   * @param len the number of bytes
+   * @return the value, clamped on overflow, or 0 if the range is invalid
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public long parseLongSaturating(byte[] a, int off, int len) {
+    return parse(a, off, len, Long.MIN_VALUE, Long.MAX_VALUE, true);
+  }
+
+  /* The three parse methods differ only in how they read a char. Digits are accumulated as a
+   * negative number, whose range includes the magnitude of min, and the rest of the range is still
+   * validated after an overflow, so that invalid input always wins. */
+
+  private long parse(CharSequence s, int off, int len, long min, long max, boolean saturate) {
+    Objects.checkFromIndexSize(off, len, s.length());
+    int i = off;
+    int end = off + len;
+    while (i < end && s.charAt(i) == ' ') {
+      i++;
+    }
+    boolean negative = false;
+    if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+      negative = s.charAt(i) == '-';
+      i++;
+    }
+    long limit = negative ? min : -max;
+    long multiplyMin = limit / 10;
+    long total = 0;
+    boolean overflow = false;
+    for (; i < end; i++) {
+      int digit = s.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return invalid();
+      }
+      if (!overflow) {
+        if (total < multiplyMin || total * 10 < limit + digit) {
+          overflow = true;
+        } else {
+          total = total * 10 - digit;
+        }
+      }
+    }
+    return result(total, negative, overflow, min, max, saturate);
+  }
+
+  private long parse(char[] a, int off, int len, long min, long max, boolean saturate) {
+    Objects.checkFromIndexSize(off, len, a.length);
+    int i = off;
+    int end = off + len;
+    while (i < end && a[i] == ' ') {
+      i++;
+    }
+    boolean negative = false;
+    if (i < end && (a[i] == '-' || a[i] == '+')) {
+      negative = a[i] == '-';
+      i++;
+    }
+    long limit = negative ? min : -max;
+    long multiplyMin = limit / 10;
+    long total = 0;
+    boolean overflow = false;
+    for (; i < end; i++) {
+      int digit = a[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return invalid();
+      }
+      if (!overflow) {
+        if (total < multiplyMin || total * 10 < limit + digit) {
+          overflow = true;
+        } else {
+          total = total * 10 - digit;
+        }
+      }
+    }
+    return result(total, negative, overflow, min, max, saturate);
+  }
+
+  private long parse(byte[] a, int off, int len, long min, long max, boolean saturate) {
+    Objects.checkFromIndexSize(off, len, a.length);
+    int i = off;
+    int end = off + len;
+    while (i < end && a[i] == ' ') {
+      i++;
+    }
+    boolean negative = false;
+    if (i < end && (a[i] == '-' || a[i] == '+')) {
+      negative = a[i] == '-';
+      i++;
+    }
+    long limit = negative ? min : -max;
+    long multiplyMin = limit / 10;
+    long total = 0;
+    boolean overflow = false;
+    for (; i < end; i++) {
+      int digit = a[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return invalid();
+      }
+      if (!overflow) {
+        if (total < multiplyMin || total * 10 < limit + digit) {
+          overflow = true;
+        } else {
+          total = total * 10 - digit;
+        }
+      }
+    }
+    return result(total, negative, overflow, min, max, saturate);
+  }
+
+  private long invalid() {
+    status = INVALID;
+    return 0;
+  }
+
+  private long result(long total, boolean negative, boolean overflow, long min, long max, boolean saturate) {
+    if (overflow) {
+      status = OVERFLOW;
+      return !saturate ? 0 : negative ? min : max;
+    }
+    status = OK;
+    return negative ? total : -total;
+  }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * Writes ints and longs as decimal digits straight into a {@code byte[]}, {@link ByteBuffer} or
+ * {@link CharBuffer}, the inverse of {@link NumberParser}. Nothing is allocated, unlike
+ * {@link Integer#toString(int)}, and every method returns the number of chars written, so numbers
+ * can be appended to a large output buffer one after another.
+ *
+ * <p>The output is the one of {@link Long#toString(long)}: a '-' for negative values and no leading
+ * zeros. The length is computed first and the digits are then written from the right, two at a
+ * time from a table of the pairs "00" to "99". The value is kept negative while it is split up, so
+ * that Long.MIN_VALUE needs no special case.
+ */
+public final class NumberWriter {
+
+  /** The longest output, that of Long.MIN_VALUE. */
+  public static final int MAX_LENGTH = 20;
+
+  /* "00" "01" ... "99", tens digit first. */
+  private static final byte[] PAIRS = new byte[200];
+
+  static {
+    for (int i = 0; i < 100; i++) {
+      PAIRS[2 * i] = (byte) ('0' + i / 10);
+      PAIRS[2 * i + 1] = (byte) ('0' + i % 10);
+    }
+  }
+
+  private NumberWriter() {
+  }
+
+  /**
+   * @param value the number
+   * @return the number of chars value is written as
+   */
+  public static int length(long value) {
+    long q = value < 0 ? value : -value;
+    int digits = 1;
+    for (long p = -10; digits < 19 && q <= p; p *= 10) {
+      digits++;
+    }
+    return value < 0 ? digits + 1 : digits;
+  }
+
+  /** This method writes value into dst at off.
+   *
+   * @param value the number
+   * @param dst the array the chars are written to, one ASCII byte each
+   * @param off the index of the first char
+   * @return the number of bytes written
+   * @throws NullPointerException if dst is null
+   * @throws IndexOutOfBoundsException if dst has no room for the number at off
+   */
+  public static int write(long value, byte[] dst, int off) {
+    int len = length(value);
+    Objects.checkFromIndexSize(off, len, dst.length);
+    long q = value < 0 ? value : -value;
+    int pos = off + len;
+    while (q <= -100) {
+      long next = q / 100;
+      int pair = 2 * (int) (next * 100 - q);
+      q = next;
+      dst[--pos] = PAIRS[pair + 1];
+      dst[--pos] = PAIRS[pair];
+    }
+    if (q <= -10) {
+      dst[--pos] = PAIRS[-2 * (int) q + 1];
+      dst[--pos] = PAIRS[-2 * (int) q];
+    } else {
+      dst[--pos] = (byte) ('0' - q);
+    }
+    if (value < 0) {
+      dst[--pos] = '-';
+    }
+    return len;
+  }
+
+  /** This method writes value into dst at off.
+   *
+   * @param value the number
+   * @param dst the array the chars are written to, one ASCII byte each
+   * @param off the index of the first char
+   * @return the number of bytes written
+   * @throws NullPointerException if dst is null
+   * @throws IndexOutOfBoundsException if dst has no room for the number at off
+   */
+  public static int write(int value, byte[] dst, int off) {
+    return write((long) value, dst, off);
+  }
+
+  /** This method puts value into dst at its position and advances the position.
+   *
+   * @param value the number
+   * @param dst the buffer the chars are put into, one ASCII byte each
+   * @return the number of bytes written
+   * @throws NullPointerException if dst is null
+   * @throws BufferOverflowException if dst has no room for the number
+   * @throws java.nio.ReadOnlyBufferException if dst is read-only
+   */
+  public static int write(long value, ByteBuffer dst) {
+    int len = length(value);
+    if (len > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    int start = dst.position();
+    if (dst.hasArray()) {
+      write(value, dst.array(), dst.arrayOffset() + start);
+    } else {
+      long q = value < 0 ? value : -value;
+      int pos = start + len;
+      while (q <= -100) {
+        long next = q / 100;
+        int pair = 2 * (int) (next * 100 - q);
+        q = next;
+        dst.put(--pos, PAIRS[pair + 1]);
+        dst.put(--pos, PAIRS[pair]);
+      }
+      if (q <= -10) {
+        dst.put(--pos, PAIRS[-2 * (int) q + 1]);
+        dst.put(--pos, PAIRS[-2 * (int) q]);
+      } else {
+        dst.put(--pos, (byte) ('0' - q));
+      }
+      if (value < 0) {
+        dst.put(--pos, (byte) '-');
+      }
+    }
+    dst.position(start + len);
+    return len;
+  }
+
+  /** This method puts value into dst at its position and advances the position.
+   *
+   * @param value the number
+   * @param dst the buffer the chars are put into, one ASCII byte each
+   * @return the number of bytes written
+   * @throws NullPointerException if dst is null
+   * @throws BufferOverflowException if dst has no room for the number
+   * @throws java.nio.ReadOnlyBufferException if dst is read-only
+   */
+  public static int write(int value, ByteBuffer dst) {
+    return write((long) value, dst);
+  }
+
+  /** This method puts value into dst at its position and advances the position.
+   *
+   * @param value the number
+   * @param dst the buffer the chars are put into
+   * @return the number of chars written
+   * @throws NullPointerException if dst is null
+   * @throws BufferOverflowException if dst has no room for the number
+   * @throws java.nio.ReadOnlyBufferException if dst is read-only
+   */
+  public static int write(long value, CharBuffer dst) {
+    int len = length(value);
+    if (len > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    int start = dst.position();
+    long q = value < 0 ? value : -value;
+    int pos = start + len;
+    while (q <= -100) {
+      long next = q / 100;
+      int pair = 2 * (int) (next * 100 - q);
+      q = next;
+      dst.put(--pos, (char) PAIRS[pair + 1]);
+      dst.put(--pos, (char) PAIRS[pair]);
+    }
+    if (q <= -10) {
+      dst.put(--pos, (char) PAIRS[-2 * (int) q + 1]);
+      dst.put(--pos, (char) PAIRS[-2 * (int) q]);
+    } else {
+      dst.put(--pos, (char) ('0' - q));
+    }
+    if (value < 0) {
+      dst.put(--pos, '-');
+    }
+    dst.position(start + len);
+    return len;
+  }
+
+  /** This method puts value into dst at its position and advances the position.
+   *
+   * @param value the number
+   * @param dst the buffer the chars are put into
+   * @return the number of chars written
+   * @throws NullPointerException if dst is null
+   * @throws BufferOverflowException if dst has no room for the number
+   * @throws java.nio.ReadOnlyBufferException if dst is read-only
+   */
+  public static int write(int value, CharBuffer dst) {
+    return write((long) value, dst);
+  }
+}
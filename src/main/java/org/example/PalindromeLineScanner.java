@@ -0,0 +1,257 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs {@link StringUtilsFixed#isPermutationOfPalindrome(String)} over every line of a file without
+ * creating a String per line. The file is split into line-aligned chunks (see {@link LineChunks}),
+ * each chunk is memory-mapped and scanned on a {@link ForkJoinPool}, and every line is evaluated
+ * directly on its bytes with the letter table of {@link PalindromePermutation}.
+ *
+ * <p>Lines end at '\n'; a trailing '\r' is no letter and so does not change the result. The last
+ * line needs no terminator, and a terminator at the end of the file does not start another line.
+ * Files are read as UTF-8, ISO-8859-1 or US-ASCII. UTF-8 is decoded on the fly, since a few
+ * letters of getCharNumber, such as the fullwidth ones, lie outside ASCII; a malformed byte counts
+ * as a char that is no letter, as the replacement char it would decode to.
+ */
+public class PalindromeLineScanner {
+
+  static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+  private static final char REPLACEMENT = '\uFFFD';
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final boolean utf8;
+
+  public PalindromeLineScanner() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @param pool the pool the chunks are scanned on
+   * @param chunkSize the number of bytes a worker scans in one go, rounded up to whole lines
+   * @param charset the encoding of the files, UTF-8, ISO-8859-1 or US-ASCII
+   * @throws NullPointerException if pool or charset is null
+   * @throws IllegalArgumentException if chunkSize is less than 1 or charset is not supported
+   */
+  public PalindromeLineScanner(ForkJoinPool pool, int chunkSize, Charset charset) {
+    if (pool == null) {
+      throw new NullPointerException("pool");
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.ISO_8859_1)
+        && !charset.equals(StandardCharsets.US_ASCII)) {
+      throw new IllegalArgumentException("unsupported charset " + charset);
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    this.utf8 = charset.equals(StandardCharsets.UTF_8);
+  }
+
+  /** This method counts the lines of a file that are permutations of a palindrome.
+   *
+   * @param file the file to be scanned
+   * @return the number of matching lines
+   * @throws IOException if the file cannot be read or mapped
+   */
+  public long count(Path file) throws IOException {
+    long count = 0;
+    for (Chunk c : scan(file, Mode.COUNT)) {
+      count += c.matches;
+    }
+    return count;
+  }
+
+  /** This method finds the lines of a file that are permutations of a palindrome.
+   *
+   * @param file the file to be scanned
+   * @return the byte offsets of the first byte of every matching line, in increasing order
+   * @throws IOException if the file cannot be read or mapped
+   */
+  public long[] offsets(Path file) throws IOException {
+    Chunk[] chunks = scan(file, Mode.OFFSETS);
+    long total = 0;
+    for (Chunk c : chunks) {
+      total += c.matches;
+    }
+    if (total > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("too many matching lines for one array: " + total);
+    }
+    long[] offsets = new long[(int) total];
+    int n = 0;
+    for (Chunk c : chunks) {
+      if (c.matches > 0) {
+        System.arraycopy(c.offsets, 0, offsets, n, c.matches);
+        n += c.matches;
+      }
+    }
+    return offsets;
+  }
+
+  /** This method finds the lines of a file that are permutations of a palindrome.
+   *
+   * @param file the file to be scanned
+   * @return a set with bit i set when line i, counted from 0, matches
+   * @throws IOException if the file cannot be read or mapped
+   */
+  public BitSet lines(Path file) throws IOException {
+    BitSet lines = new BitSet();
+    long base = 0;
+    for (Chunk c : scan(file, Mode.LINES)) {
+      if (base + c.lines > Integer.MAX_VALUE) {
+        throw new IllegalStateException("too many lines for a BitSet");
+      }
+      for (int i = c.matchingLines.nextSetBit(0); i >= 0; i = c.matchingLines.nextSetBit(i + 1)) {
+        lines.set((int) base + i);
+      }
+      base += c.lines;
+    }
+    return lines;
+  }
+
+  private Chunk[] scan(Path file, Mode mode) throws IOException {
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      long[] bounds = LineChunks.split(ch, chunkSize);
+      Chunk[] chunks = new Chunk[bounds.length - 1];
+      for (int i = 0; i < chunks.length; i++) {
+        chunks[i] = new Chunk(bounds[i], bounds[i + 1], mode);
+      }
+      if (chunks.length > 0) {
+        pool.invoke(new Scan(ch, chunks, 0, chunks.length));
+      }
+      for (Chunk c : chunks) {
+        if (c.failure != null) {
+          throw c.failure;
+        }
+      }
+      return chunks;
+    }
+  }
+
+  private enum Mode { COUNT, OFFSETS, LINES }
+
+  /* One line-aligned piece of the file and what was found in it. */
+  private static final class Chunk {
+    final long start;
+    final long end;
+    final Mode mode;
+    int lines;
+    int matches;
+    long[] offsets;
+    BitSet matchingLines;
+    IOException failure;
+
+    Chunk(long start, long end, Mode mode) {
+      this.start = start;
+      this.end = end;
+      this.mode = mode;
+    }
+
+    void line(int offset, int mask) {
+      if (PalindromePermutation.isPalindromeMask(mask)) {
+        if (mode == Mode.OFFSETS) {
+          if (offsets == null) {
+            offsets = new long[16];
+          } else if (matches == offsets.length) {
+            offsets = Arrays.copyOf(offsets, 2 * matches);
+          }
+          offsets[matches] = start + offset;
+        } else if (mode == Mode.LINES) {
+          if (matchingLines == null) {
+            matchingLines = new BitSet();
+          }
+          matchingLines.set(lines);
+        }
+        matches++;
+      }
+      lines++;
+    }
+  }
+
+  private final class Scan extends RecursiveAction {
+    private final FileChannel ch;
+    private final Chunk[] chunks;
+    private final int lo;
+    private final int hi;
+
+    Scan(FileChannel ch, Chunk[] chunks, int lo, int hi) {
+      this.ch = ch;
+      this.chunks = chunks;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new Scan(ch, chunks, lo, mid), new Scan(ch, chunks, mid, hi));
+        return;
+      }
+      Chunk c = chunks[lo];
+      try {
+        scanLines(LineChunks.map(ch, c.start, c.end), c);
+      } catch (IOException e) {
+        c.failure = e;
+      }
+      if (c.mode == Mode.LINES && c.matchingLines == null) {
+        c.matchingLines = new BitSet(0);
+      }
+    }
+  }
+
+  private void scanLines(ByteBuffer buf, Chunk c) {
+    int n = buf.limit();
+    int lineStart = 0;
+    int mask = 0;
+    int i = 0;
+    while (i < n) {
+      int b = buf.get(i) & 0xFF;
+      if (b == '\n') {
+        c.line(lineStart, mask);
+        mask = 0;
+        lineStart = ++i;
+      } else if (b < 0x80 || !utf8) {
+        mask ^= PalindromePermutation.letterBit((char) b);
+        i++;
+      } else {
+        // continuation bytes are never '\n', so a sequence cannot run into the next line
+        char ch = REPLACEMENT;
+        int len = 1;
+        if (b >= 0xC2 && b < 0xE0 && isContinuation(buf, i + 1, n)) {
+          ch = (char) ((b & 0x1F) << 6 | (buf.get(i + 1) & 0x3F));
+          len = 2;
+        } else if (b >= 0xE0 && b < 0xF0 && isContinuation(buf, i + 1, n) && isContinuation(buf, i + 2, n)) {
+          int cp = (b & 0x0F) << 12 | (buf.get(i + 1) & 0x3F) << 6 | (buf.get(i + 2) & 0x3F);
+          if (cp >= 0x800) {
+            ch = (char) cp;
+            len = 3;
+          }
+        }
+        // four-byte sequences encode surrogate pairs, which are no letters
+        mask ^= PalindromePermutation.letterBit(ch);
+        i += len;
+      }
+    }
+    if (lineStart < n) {
+      c.line(lineStart, mask);
+    }
+  }
+
+  private static boolean isContinuation(ByteBuffer buf, int i, int n) {
+    return i < n && (buf.get(i) & 0xC0) == 0x80;
+  }
+}
@@ -0,0 +1,92 @@
+package org.example;
+
+import java.util.Objects;
+
+/**
+ * Answers {@link StringUtilsFixed#isPermutationOfPalindrome(String)} without calling
+ * {@link Character#getNumericValue(char)} per char. That method counts a char as letter k when its
+ * numeric value is 10 + k, which besides 'a'-'z' and 'A'-'Z' takes in the fullwidth Latin letters
+ * and other chars with such a value (e.g. ROMAN NUMERAL TWELVE counts as 'c'). The letter of every char
+ * is therefore looked up once, when this class is loaded, and kept in a 64 KB table.
+ *
+ * <p>A check then only needs one bit of parity per letter: each char flips the bit of its letter in
+ * an int, and the string is a permutation of a palindrome when at most one bit is left. Chars that
+ * are no letter flip a bit outside {@link #LETTERS}, which is masked off at the end, so the loop has
+ * no branch and the check allocates nothing.
+ */
+public final class PalindromePermutation {
+
+  /** The bits of the 26 letters in a parity mask. */
+  static final int LETTERS = (1 << 26) - 1;
+
+  /* Letter 0-25 of every char, or 26 if it is no letter. */
+  private static final byte[] LETTER = new byte[Character.MAX_VALUE + 1];
+
+  static {
+    int a = Character.getNumericValue('a');
+    int z = Character.getNumericValue('z');
+    for (int c = 0; c <= Character.MAX_VALUE; c++) {
+      int val = Character.getNumericValue(c);
+      LETTER[c] = (byte) (a <= val && val <= z ? val - a : 26);
+    }
+  }
+
+  private PalindromePermutation() {
+  }
+
+  /** This method checks if a char sequence is a permutation of a palindrome, with the semantics of
+   * {@link StringUtilsFixed#isPermutationOfPalindrome(String)}.
+   *
+   * @param str the input
+   * @return true if str is a permutation of a palindrome, false otherwise
+   * @throws NullPointerException if str is null
+   */
+  public static boolean isPermutationOfPalindrome(CharSequence str) {
+    int mask = 0;
+    for (int i = 0, len = str.length(); i < len; i++) {
+      mask ^= letterBit(str.charAt(i));
+    }
+    return isPalindromeMask(mask);
+  }
+
+  /** This method checks if a[off, off + len) is a permutation of a palindrome, with the semantics
+   * of {@link StringUtilsFixed#isPermutationOfPalindrome(String)}.
+   *
+   * @param a the input chars
+   * @param off the index of the first input char
+   * @param len the number of input chars
+   * @return true if the range is a permutation of a palindrome, false otherwise
+   * @throws NullPointerException if a is null
+   * @throws IndexOutOfBoundsException if the range is outside a
+   */
+  public static boolean isPermutationOfPalindrome(char[] a, int off, int len) {
+    Objects.checkFromIndexSize(off, len, a.length);
+    int mask = 0;
+    for (int i = off, end = off + len; i < end; i++) {
+      mask ^= letterBit(a[i]);
+    }
+    return isPalindromeMask(mask);
+  }
+
+  /**
+   * @return the letter 0-25 that c is counted as, or -1 if it is not counted at all
+   */
+  static int letterIndex(char c) {
+    int x = LETTER[c];
+    return x == 26 ? -1 : x;
+  }
+
+  /**
+   * @return the parity bit of the letter of c, or a bit outside {@link #LETTERS} if c is no letter
+   */
+  static int letterBit(char c) {
+    return 1 << LETTER[c];
+  }
+
+  /**
+   * @return true if at most one letter of a parity mask is odd; bits outside LETTERS are ignored
+   */
+  static boolean isPalindromeMask(int mask) {
+    return Integer.bitCount(mask & LETTERS) <= 1;
+  }
+}
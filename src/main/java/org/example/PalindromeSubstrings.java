@@ -0,0 +1,158 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Counts the non-empty substrings of a text that are permutations of a palindrome, in the sense of
+ * {@link StringUtilsFixed#isPermutationOfPalindrome(String)}, with the same letters as its
+ * getCharNumber (see {@link PalindromePermutation}).
+ *
+ * <p>The parity mask of a prefix has the bit of a letter set when the prefix holds it an odd number
+ * of times. Substring [i, j) has at most one odd letter exactly when the masks of prefixes i and j
+ * are equal or differ in one bit, so for every end j it is enough to look up how many earlier
+ * prefixes had the mask of j or one of its 26 neighbours. The masks seen so far are counted in an
+ * {@link IntCounter}, which makes a text of n chars cost O(26 n) time and O(n) memory.
+ *
+ * <p>An instance counts in streaming mode: chars are appended one at a time, from any number of
+ * sequences or {@link Reader}s, and the total is kept as they arrive. The static methods handle a
+ * whole string; {@link #forEachMatch(CharSequence, SubstringConsumer)} also reports every matching
+ * substring.
+ */
+public final class PalindromeSubstrings {
+
+  /** Receives the substrings found by {@link #forEachMatch(CharSequence, SubstringConsumer)}. */
+  @FunctionalInterface
+  public interface SubstringConsumer {
+    /**
+     * @param start the index of the first char of the substring
+     * @param end the index after the last char of the substring
+     */
+    void accept(int start, int end);
+  }
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final IntCounter masks = new IntCounter();
+  private int mask;
+  private long length;
+  private long count;
+
+  public PalindromeSubstrings() {
+    masks.add(0, 1);
+  }
+
+  /** This method appends a char to the text.
+   *
+   * @param c the next char of the text
+   * @return the number of matching substrings that end with c
+   */
+  public long append(char c) {
+    mask ^= PalindromePermutation.letterBit(c) & PalindromePermutation.LETTERS;
+    long found = masks.get(mask);
+    for (int bit = 1; bit <= PalindromePermutation.LETTERS; bit <<= 1) {
+      found += masks.get(mask ^ bit);
+    }
+    masks.add(mask, 1);
+    length++;
+    count += found;
+    return found;
+  }
+
+  /** This method appends the chars of str to the text.
+   *
+   * @param str the next chars of the text
+   * @return the number of matching substrings that end within str
+   * @throws NullPointerException if str is null
+   */
+  public long append(CharSequence str) {
+    long before = count;
+    for (int i = 0, len = str.length(); i < len; i++) {
+      append(str.charAt(i));
+    }
+    return count - before;
+  }
+
+  /** This method reads in to its end and appends what it reads to the text. in is not closed.
+   *
+   * @param in the next chars of the text
+   * @return the number of matching substrings that end within what was read
+   * @throws IOException if reading from in fails
+   * @throws NullPointerException if in is null
+   */
+  public long append(Reader in) throws IOException {
+    long before = count;
+    char[] buffer = new char[BUFFER_SIZE];
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      for (int i = 0; i < n; i++) {
+        append(buffer[i]);
+      }
+    }
+    return count - before;
+  }
+
+  /**
+   * @return the number of matching substrings of the text appended so far
+   */
+  public long count() {
+    return count;
+  }
+
+  /**
+   * @return the number of chars appended so far
+   */
+  public long length() {
+    return length;
+  }
+
+  /** This method counts the substrings of str that are permutations of a palindrome.
+   *
+   * @param str the input
+   * @return the number of non-empty matching substrings, each position counted separately
+   * @throws NullPointerException if str is null
+   */
+  public static long count(CharSequence str) {
+    return new PalindromeSubstrings().append(str);
+  }
+
+  /** This method reports every substring of str that is a permutation of a palindrome, in order of
+   * increasing end; substrings with the same end come in no particular order. Besides the prefix
+   * masks it keeps, per mask, a chain of the prefixes that had it, so the cost is O(26 n) plus the
+   * number of matches.
+   *
+   * @param str the input
+   * @param action called with the bounds of each non-empty matching substring
+   * @return the number of matching substrings
+   * @throws NullPointerException if str or action is null
+   */
+  public static long forEachMatch(CharSequence str, SubstringConsumer action) {
+    int n = str.length();
+    // last.get(m) is 1 + the latest prefix with mask m, previous[p] the prefix before p with its mask
+    IntCounter last = new IntCounter();
+    int[] previous = new int[n + 1];
+    previous[0] = -1;
+    last.put(0, 1);
+    int mask = 0;
+    long count = 0;
+    for (int end = 1; end <= n; end++) {
+      mask ^= PalindromePermutation.letterBit(str.charAt(end - 1)) & PalindromePermutation.LETTERS;
+      count += report(last, previous, mask, end, action);
+      for (int bit = 1; bit <= PalindromePermutation.LETTERS; bit <<= 1) {
+        count += report(last, previous, mask ^ bit, end, action);
+      }
+      previous[end] = last.get(mask) - 1;
+      last.put(mask, end + 1);
+    }
+    return count;
+  }
+
+  private static int report(IntCounter last, int[] previous, int mask, int end, SubstringConsumer action) {
+    int found = 0;
+    for (int start = last.get(mask) - 1; start >= 0; start = previous[start]) {
+      action.accept(start, end);
+      found++;
+    }
+    return found;
+  }
+}
@@ -0,0 +1,139 @@
+package org.example;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compresses large strings on a {@link ForkJoinPool}. The input is cut into fixed-size chunks that
+ * are encoded independently; each chunk keeps its first and last run aside, because those may
+ * continue in the neighbouring chunks. The chunks are then stitched together in order, adding up
+ * the counts of runs that cross a seam, so the result is identical to
+ * {@link StringUtilsFixed#compress(String)}, including returning the input when compression does
+ * not make it shorter. Inputs of at most one chunk are compressed on the calling thread.
+ */
+public class ParallelRleCompressor {
+
+  static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final RunScanner scanner = RunScanner.get();
+
+  public ParallelRleCompressor() {
+    this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * @param pool the pool the chunks are compressed on
+   * @param chunkSize the number of chars per chunk
+   * @throws NullPointerException if pool is null
+   * @throws IllegalArgumentException if chunkSize is less than 1
+   */
+  public ParallelRleCompressor(ForkJoinPool pool, int chunkSize) {
+    if (pool == null) {
+      throw new NullPointerException("pool");
+    }
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+  }
+
+  /** This method compresses a string using the counts of repeated consecutive characters. For
+   * instance, aabcccccaaa would be compressed as a2b1c5a3. If the compressed string is not shorter
+   * than the input string, the input string is returned.
+   *
+   * @param str the input string to be compressed
+   * @return compressed string
+   * @throws NullPointerException if str is null
+   */
+  public String compress(String str) {
+    int len = str.length();
+    if (len <= chunkSize) {
+      return new RleCompressor(scanner).compress(str);
+    }
+    Chunk[] chunks = new Chunk[(int) (((long) len + chunkSize - 1) / chunkSize)];
+    pool.invoke(new ChunkTask(str, chunks, 0, chunks.length));
+
+    StringBuilder compressed = new StringBuilder();
+    char last = 0;
+    int count = 0;
+    for (Chunk chunk : chunks) {
+      if (count > 0 && chunk.firstChar == last) {
+        count += chunk.firstCount;
+      } else {
+        if (count > 0) {
+          compressed.append(last).append(count);
+        }
+        last = chunk.firstChar;
+        count = chunk.firstCount;
+      }
+      if (chunk.middle != null) {
+        compressed.append(last).append(count).append(chunk.middle);
+        last = chunk.lastChar;
+        count = chunk.lastCount;
+      }
+    }
+    compressed.append(last).append(count);
+    return compressed.length() < len ? compressed.toString() : str;
+  }
+
+  /* The encoding of one chunk. When the chunk is a single run only the first run is set and
+   * middle is null; otherwise middle holds the encoded runs between the first and the last. */
+  private static final class Chunk {
+    char firstChar;
+    int firstCount;
+    StringBuilder middle;
+    char lastChar;
+    int lastCount;
+  }
+
+  private final class ChunkTask extends RecursiveAction {
+    private final String str;
+    private final Chunk[] chunks;
+    private final int lo;
+    private final int hi;
+
+    ChunkTask(String str, Chunk[] chunks, int lo, int hi) {
+      this.str = str;
+      this.chunks = chunks;
+      this.lo = lo;
+      this.hi = hi;
+    }
+
+    @Override
+    protected void compute() {
+      if (hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        invokeAll(new ChunkTask(str, chunks, lo, mid), new ChunkTask(str, chunks, mid, hi));
+        return;
+      }
+      int from = lo * chunkSize;
+      int n = Math.min(chunkSize, str.length() - from);
+      char[] a = new char[n];
+      str.getChars(from, from + n, a, 0);
+
+      Chunk chunk = new Chunk();
+      int end = scanner.runEnd(a, 0, n);
+      chunk.firstChar = a[0];
+      chunk.firstCount = end;
+      if (end < n) {
+        StringBuilder middle = new StringBuilder();
+        int i = end;
+        while (true) {
+          end = scanner.runEnd(a, i, n);
+          if (end == n) {
+            break;
+          }
+          middle.append(a[i]).append(end - i);
+          i = end;
+        }
+        chunk.middle = middle;
+        chunk.lastChar = a[i];
+        chunk.lastCount = n - i;
+      }
+      chunks[lo] = chunk;
+    }
+  }
+}
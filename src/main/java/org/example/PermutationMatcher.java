@@ -0,0 +1,134 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Checks a stream of candidates against one reference string, answering the same question as
+ * {@link StringUtilsFixed#isPermutation(String, String)} with the reference as the first argument.
+ *
+ * <p>The char histogram of the reference is built once. A check then needs no allocation: it
+ * rejects on length first, then walks the candidate decrementing a per-thread copy of the
+ * histogram and stops at the first count that would go negative; afterwards it puts back what it
+ * took, so the copy is ready for the next candidate. Latin-1 chars are counted in a dense table,
+ * any other chars of the reference in a small sorted table; chars that the reference does not
+ * contain at all reject the candidate immediately.
+ *
+ * <p>Callers that keep the {@link AnagramIndex#signature(CharSequence) signature} of their
+ * candidates can pass it to {@link #matches(CharSequence, long)} to reject most non-matches in
+ * O(1). A matcher is immutable apart from its per-thread scratch, so it can be shared by threads.
+ */
+public final class PermutationMatcher {
+
+  private final int length;
+  private final long signature;
+  private final int[] latin1 = new int[256];
+  private final char[] extendedChars;
+  private final int[] extendedCounts;
+  private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(this::newScratch);
+
+  /**
+   * @param reference the string candidates are compared with
+   * @throws NullPointerException if reference is null
+   */
+  public PermutationMatcher(CharSequence reference) {
+    length = reference.length();
+    signature = AnagramIndex.signature(reference);
+    char[] extended = new char[length];
+    int n = 0;
+    for (int i = 0; i < length; i++) {
+      char c = reference.charAt(i);
+      if (c < 256) {
+        latin1[c]++;
+      } else {
+        extended[n++] = c;
+      }
+    }
+    Arrays.sort(extended, 0, n);
+    int distinct = 0;
+    int[] counts = new int[n];
+    for (int i = 0; i < n; i++) {
+      if (distinct > 0 && extended[distinct - 1] == extended[i]) {
+        counts[distinct - 1]++;
+      } else {
+        extended[distinct] = extended[i];
+        counts[distinct++] = 1;
+      }
+    }
+    extendedChars = Arrays.copyOf(extended, distinct);
+    extendedCounts = Arrays.copyOf(counts, distinct);
+  }
+
+  /**
+   * @return the signature of the reference, see {@link AnagramIndex#signature(CharSequence)}
+   */
+  public long signature() {
+    return signature;
+  }
+
+  /** This method checks if a candidate is a permutation of the reference.
+   *
+   * @param candidate the string to be checked
+   * @return true if candidate is a permutation of the reference, false otherwise
+   * @throws NullPointerException if candidate is null
+   */
+  public boolean matches(CharSequence candidate) {
+    if (candidate.length() != length) {
+      return false;
+    }
+    Scratch s = scratch.get();
+    int[] dense = s.latin1;
+    int[] sparse = s.extended;
+    int taken = 0;
+    boolean match = true;
+    for (; taken < length; taken++) {
+      char c = candidate.charAt(taken);
+      if (c < 256) {
+        if (--dense[c] < 0) {
+          taken++;
+          match = false;
+          break;
+        }
+      } else {
+        int k = Arrays.binarySearch(extendedChars, c);
+        if (k < 0) {
+          match = false;
+          break;
+        }
+        if (--sparse[k] < 0) {
+          taken++;
+          match = false;
+          break;
+        }
+      }
+    }
+    // put back every count taken, so the scratch equals the reference histogram again
+    for (int i = 0; i < taken; i++) {
+      char c = candidate.charAt(i);
+      if (c < 256) {
+        dense[c]++;
+      } else {
+        sparse[Arrays.binarySearch(extendedChars, c)]++;
+      }
+    }
+    return match;
+  }
+
+  /** This method checks a candidate whose signature is already known, rejecting it in O(1) when
+   * the signatures differ.
+   *
+   * @param candidate the string to be checked
+   * @param candidateSignature the signature of candidate
+   * @return true if candidate is a permutation of the reference, false otherwise
+   * @throws NullPointerException if candidate is null
+   */
+  public boolean matches(CharSequence candidate, long candidateSignature) {
+    return candidateSignature == signature && matches(candidate);
+  }
+
+  private Scratch newScratch() {
+    return new Scratch(latin1.clone(), extendedCounts.clone());
+  }
+
+  private record Scratch(int[] latin1, int[] extended) {
+  }
+}
@@ -0,0 +1,202 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Finds every offset in a text where the next pattern.length() chars are a permutation of the
+ * pattern, in the sense of {@link StringUtilsFixed#isPermutation(String, String)}. Calling
+ * isPermutation on every window costs O(n * m); this scan slides a window of m chars over the text
+ * once and costs O(n).
+ *
+ * <p>The window keeps, for every char, its count in the window minus its count in the pattern, and
+ * the number of chars whose difference is not zero. Moving the window changes two differences,
+ * and the window is a permutation exactly when no difference is left. Latin-1 chars are counted in
+ * a dense table, other chars in an {@link IntCounter}, so unlike isPermutation the search is not
+ * limited to Latin-1. Chars are compared one UTF-16 unit at a time, as isPermutation does.
+ *
+ * <p>The {@link Reader} variant keeps only the last m chars, so texts of any size can be searched.
+ * A search is immutable and can be shared by threads.
+ */
+public final class PermutationSearch {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final String pattern;
+
+  /**
+   * @param pattern the chars a matching window has to consist of
+   * @throws NullPointerException if pattern is null
+   * @throws IllegalArgumentException if pattern is empty
+   */
+  public PermutationSearch(CharSequence pattern) {
+    if (pattern.length() == 0) {
+      throw new IllegalArgumentException("pattern must not be empty");
+    }
+    this.pattern = pattern.toString();
+  }
+
+  /** This method reports the offset of every window of text that is a permutation of the pattern,
+   * in increasing order.
+   *
+   * @param text the text to be searched
+   * @param action called with the offset of each match
+   * @throws NullPointerException if text or action is null
+   */
+  public void forEachMatch(CharSequence text, IntConsumer action) {
+    Window w = new Window();
+    int m = pattern.length();
+    for (int i = 0; i < text.length(); i++) {
+      w.add(text.charAt(i));
+      if (i >= m) {
+        w.remove(text.charAt(i - m));
+      }
+      if (i >= m - 1 && w.mismatches == 0) {
+        action.accept(i - m + 1);
+      }
+    }
+  }
+
+  /** This method streams the offset of every window of text that is a permutation of the pattern,
+   * in increasing order. The text is scanned lazily as the stream is consumed.
+   *
+   * @param text the text to be searched
+   * @return the offsets of the matches
+   * @throws NullPointerException if text is null
+   */
+  public IntStream matches(CharSequence text) {
+    Objects.requireNonNull(text);
+    PrimitiveIterator.OfInt offsets = new PrimitiveIterator.OfInt() {
+      private final Window w = new Window();
+      private int i;
+      private int next = advance();
+
+      private int advance() {
+        int m = pattern.length();
+        while (i < text.length()) {
+          w.add(text.charAt(i));
+          if (i >= m) {
+            w.remove(text.charAt(i - m));
+          }
+          i++;
+          if (i >= m && w.mismatches == 0) {
+            return i - m;
+          }
+        }
+        return -1;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return next >= 0;
+      }
+
+      @Override
+      public int nextInt() {
+        if (next < 0) {
+          throw new NoSuchElementException();
+        }
+        int offset = next;
+        next = advance();
+        return offset;
+      }
+    };
+    return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(offsets,
+        Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.SORTED | Spliterator.NONNULL), false);
+  }
+
+  /** This method reads in to its end and reports the offset of every window that is a permutation
+   * of the pattern, in increasing order. Only the last pattern.length() chars are kept in memory.
+   * in is not closed.
+   *
+   * @param in the text to be searched
+   * @param action called with the offset of each match, counted in chars from where in started
+   * @return the number of matches
+   * @throws IOException if reading from in fails
+   * @throws NullPointerException if in or action is null
+   */
+  public long forEachMatch(Reader in, LongConsumer action) throws IOException {
+    Window w = new Window();
+    int m = pattern.length();
+    char[] ring = new char[m];
+    char[] buffer = new char[BUFFER_SIZE];
+    long pos = 0;
+    long matches = 0;
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      for (int k = 0; k < n; k++) {
+        int slot = (int) (pos % m);
+        if (pos >= m) {
+          w.remove(ring[slot]);
+        }
+        char c = buffer[k];
+        ring[slot] = c;
+        w.add(c);
+        pos++;
+        if (pos >= m && w.mismatches == 0) {
+          action.accept(pos - m);
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+
+  /* Count in the window minus count in the pattern, per char. */
+  private final class Window {
+
+    private final int[] latin1 = new int[256];
+    private IntCounter extended;
+    private int mismatches;
+
+    Window() {
+      for (int i = 0; i < pattern.length(); i++) {
+        remove(pattern.charAt(i));
+      }
+    }
+
+    void add(char c) {
+      int d;
+      if (c < 256) {
+        d = ++latin1[c];
+      } else {
+        d = extended().add(c, 1);
+      }
+      if (d == 0) {
+        mismatches--;
+      } else if (d == 1) {
+        mismatches++;
+      }
+    }
+
+    void remove(char c) {
+      int d;
+      if (c < 256) {
+        d = --latin1[c];
+      } else {
+        d = extended().add(c, -1);
+      }
+      if (d == 0) {
+        mismatches--;
+      } else if (d == -1) {
+        mismatches++;
+      }
+    }
+
+    private IntCounter extended() {
+      if (extended == null) {
+        extended = new IntCounter();
+      }
+      return extended;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package org.example;
+
+/**
+ * Permutation check over the full Unicode range. {@link StringUtilsFixed#isPermutation(String,
+ * String)} counts chars in an {@code int[256]} and fails with an ArrayIndexOutOfBoundsException on
+ * anything above Latin-1; this version compares the multisets of code points of its arguments.
+ *
+ * <p>Latin-1 chars, the common case, are counted in a dense table exactly as before. Other chars
+ * go to an {@link IntCounter} that is only created when the first of them shows up, and
+ * surrogate pairs are counted as the one code point they encode. An unpaired surrogate is counted
+ * as itself.
+ */
+public final class Permutations {
+
+  private Permutations() {
+  }
+
+  /** This method checks if two char sequences are permutations of each other, i.e. contain the
+   * same code points the same number of times.
+   *
+   * @param str1 the first input
+   * @param str2 the second input
+   * @return true if the two inputs are permutations of each other, false otherwise
+   * @throws NullPointerException if str1 or str2 is null
+   */
+  public static boolean isPermutation(CharSequence str1, CharSequence str2) {
+    int len = str1.length();
+    if (len != str2.length()) {
+      return false;
+    }
+    int[] letters = new int[256];
+    IntCounter others = null;
+    for (int i = 0; i < len; i++) {
+      char c = str1.charAt(i);
+      if (c < 256) {
+        letters[c]++;
+      } else {
+        if (others == null) {
+          others = new IntCounter();
+        }
+        int cp = Character.isHighSurrogate(c) ? Character.codePointAt(str1, i) : c;
+        others.add(cp, 1);
+        if (cp > Character.MAX_VALUE) {
+          i++;
+        }
+      }
+    }
+    // the lengths are equal, so taking every code point of str2 without going negative means
+    // the multisets are equal
+    for (int i = 0; i < len; i++) {
+      char c = str2.charAt(i);
+      if (c < 256) {
+        if (--letters[c] < 0) {
+          return false;
+        }
+      } else {
+        if (others == null) {
+          return false;
+        }
+        int cp = Character.isHighSurrogate(c) ? Character.codePointAt(str2, i) : c;
+        if (others.add(cp, -1) < 0) {
+          return false;
+        }
+        if (cp > Character.MAX_VALUE) {
+          i++;
+        }
+      }
+    }
+    return true;
+  }
+}
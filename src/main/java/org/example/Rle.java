@@ -0,0 +1,52 @@
+package org.example;
+
+/**
+ * Auxiliary routines shared by the run-length encoders. The text format is the one produced by
+ * {@link StringUtilsFixed#compress(String)}: every run is written as its character followed by the
+ * decimal count, e.g. "aabcccccaaa" becomes "a2b1c5a3".
+ */
+final class Rle {
+
+  private Rle() {
+  }
+
+  /** Returns the number of decimal digits needed to write a (positive) run count.
+   *
+   * @param count the run count
+   * @return the number of digits of count
+   */
+  static int digits(long count) {
+    int n = 1;
+    while (count >= 10) {
+      count /= 10;
+      n++;
+    }
+    return n;
+  }
+
+  /** Returns the number of chars a single run occupies in the text format.
+   *
+   * @param count the run count
+   * @return 1 for the run character plus the digits of count
+   */
+  static int encodedRunLength(long count) {
+    return 1 + digits(count);
+  }
+
+  /** Writes the decimal digits of count into dst starting at off.
+   *
+   * @param dst the destination array
+   * @param off the index of the first digit
+   * @param count the run count, must be positive
+   * @return the index just after the last digit written
+   */
+  static int putCount(char[] dst, int off, long count) {
+    int end = off + digits(count);
+    int i = end;
+    do {
+      dst[--i] = (char) ('0' + (int) (count % 10));
+      count /= 10;
+    } while (count != 0);
+    return end;
+  }
+}
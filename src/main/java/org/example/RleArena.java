@@ -0,0 +1,151 @@
+package org.example;
+
+import java.nio.CharBuffer;
+import java.util.BitSet;
+
+/**
+ * Output of {@link BatchRleCompressor}: the results of a whole batch packed back to back into one
+ * char array, plus an offsets index. Record i occupies {@code data()[start(i) .. start(i) + length(i))}
+ * and holds either the compressed form or, when compression does not pay off, a copy of the input,
+ * as told by {@link #isCompressed(int)}.
+ *
+ * <p>An arena is meant to be reused: every batch overwrites the previous one and the arrays only
+ * grow, so once an arena has seen the largest batch no more memory is allocated. An arena must not
+ * be shared by batches that run at the same time.
+ */
+public class RleArena {
+
+  private char[] data;
+  private int[] offsets;
+  private final BitSet compressed = new BitSet();
+  private int size;
+
+  public RleArena() {
+    this(1024, 64);
+  }
+
+  /**
+   * @param initialChars the initial capacity of the char array
+   * @param initialRecords the initial number of records that can be indexed
+   * @throws IllegalArgumentException if either capacity is negative
+   */
+  public RleArena(int initialChars, int initialRecords) {
+    if (initialChars < 0 || initialRecords < 0) {
+      throw new IllegalArgumentException("capacities must not be negative");
+    }
+    data = new char[initialChars];
+    offsets = new int[initialRecords + 1];
+  }
+
+  /**
+   * @return the number of records of the last batch
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return the shared char array; only the ranges of the records are meaningful
+   */
+  public char[] data() {
+    return data;
+  }
+
+  /**
+   * @param i the record index
+   * @return the index of the first char of record i in {@link #data()}
+   * @throws IndexOutOfBoundsException if i is not a record index
+   */
+  public int start(int i) {
+    return offsets[checkIndex(i)];
+  }
+
+  /**
+   * @param i the record index
+   * @return the number of chars of record i
+   * @throws IndexOutOfBoundsException if i is not a record index
+   */
+  public int length(int i) {
+    checkIndex(i);
+    return offsets[i + 1] - offsets[i];
+  }
+
+  /**
+   * @param i the record index
+   * @return true if record i is compressed, false if it is a copy of the input
+   * @throws IndexOutOfBoundsException if i is not a record index
+   */
+  public boolean isCompressed(int i) {
+    return compressed.get(checkIndex(i));
+  }
+
+  /**
+   * @param i the record index
+   * @return a read-only view of record i, valid until the next batch
+   * @throws IndexOutOfBoundsException if i is not a record index
+   */
+  public CharBuffer view(int i) {
+    return CharBuffer.wrap(data, start(i), length(i)).slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * @param i the record index
+   * @return record i as a new string, exactly what StringUtilsFixed.compress returns for it
+   * @throws IndexOutOfBoundsException if i is not a record index
+   */
+  public String toString(int i) {
+    return new String(data, start(i), length(i));
+  }
+
+  /**
+   * @return the total number of chars of the last batch
+   */
+  public int totalLength() {
+    return offsets[size];
+  }
+
+  /** Forgets the records but keeps the memory. */
+  public void clear() {
+    size = 0;
+    offsets[0] = 0;
+    compressed.clear();
+  }
+
+  /* Prepares the index for a batch of n records; lengths are filled in by the caller. */
+  int[] reset(int n) {
+    clear();
+    if (offsets.length < n + 1) {
+      offsets = new int[Math.max(n + 1, offsets.length * 2)];
+    }
+    size = n;
+    return offsets;
+  }
+
+  int[] offsets() {
+    return offsets;
+  }
+
+  void markCompressed(int i) {
+    compressed.set(i);
+  }
+
+  /* Makes room for total chars, dropping the old contents. */
+  char[] ensureCapacity(int total) {
+    if (data.length < total) {
+      data = new char[(int) Math.min(Math.max(total, data.length * 2L), Integer.MAX_VALUE - 8)];
+    }
+    return data;
+  }
+
+  private int checkIndex(int i) {
+    if (i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException("record " + i + " out of bounds for size " + size);
+    }
+    return i;
+  }
+
+  @Override
+  public String toString() {
+    return "RleArena[size=" + size + ", chars=" + totalLength() + ", capacity=" + data.length + "]";
+  }
+}
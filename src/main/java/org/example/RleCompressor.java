@@ -0,0 +1,258 @@
+package org.example;
+
+import java.nio.CharBuffer;
+import java.util.Objects;
+
+/**
+ * Produces exactly the output of {@link StringUtilsFixed#compress(String)}, but finds run
+ * boundaries with a {@link RunScanner}, which compares many chars per step when the Vector API is
+ * available. The input is copied into a small buffer a chunk at a time, and a run that reaches the
+ * end of a chunk is carried over to the next one.
+ *
+ * <p>Compression only pays off when the output is shorter than the input, so every method stops as
+ * soon as the runs written so far reach the input length. The methods that write into a
+ * caller-supplied {@code char[]} or {@link CharBuffer} then return {@link #NO_GAIN} and allocate
+ * nothing at all: the caller keeps the input as it is, just as compress returns it unchanged.
+ */
+public class RleCompressor {
+
+  /** Returned instead of a length when the compressed form would not be shorter than the input. */
+  public static final int NO_GAIN = -1;
+
+  private static final int CHUNK_SIZE = 4096;
+
+  private final RunScanner scanner;
+
+  public RleCompressor() {
+    this(RunScanner.get());
+  }
+
+  RleCompressor(RunScanner scanner) {
+    this.scanner = scanner;
+  }
+
+  /** This method compresses a string using the counts of repeated consecutive characters. For
+   * instance, aabcccccaaa would be compressed as a2b1c5a3. If the compressed string is not shorter
+   * than the input string, the input string is returned.
+   *
+   * @param str the input string to be compressed
+   * @return compressed string
+   * @throws NullPointerException if str is null
+   */
+  public String compress(String str) {
+    int len = str.length();
+    // every run takes at least two chars, so nothing under three chars can shrink
+    if (len < 3) {
+      return str;
+    }
+    char[] compressed = new char[len - 1];
+    char[] chunk = new char[Math.min(len, CHUNK_SIZE)];
+    int pos = 0;
+    char last = 0;
+    int count = 0;
+    for (int base = 0; base < len; base += chunk.length) {
+      int n = Math.min(chunk.length, len - base);
+      str.getChars(base, base + n, chunk, 0);
+      int i = 0;
+      if (count > 0 && chunk[0] == last) {
+        i = scanner.runEnd(chunk, 0, n);
+        count += i;
+      }
+      while (i < n) {
+        if (count > 0) {
+          pos = putRun(compressed, pos, 0, compressed.length, last, count, len);
+          if (pos == NO_GAIN) {
+            return str;
+          }
+        }
+        int end = scanner.runEnd(chunk, i, n);
+        last = chunk[i];
+        count = end - i;
+        i = end;
+      }
+    }
+    pos = putRun(compressed, pos, 0, compressed.length, last, count, len);
+    return pos == NO_GAIN ? str : new String(compressed, 0, pos);
+  }
+
+  /** This method computes the length of the compressed form of str without building it.
+   *
+   * @param str the input
+   * @return the compressed length, or {@link #NO_GAIN} as soon as it is clear that it will not be
+   *     shorter than str
+   * @throws NullPointerException if str is null
+   */
+  public int compressedLength(CharSequence str) {
+    int len = str.length();
+    int total = 0;
+    int i = 0;
+    while (i < len) {
+      int end = runEnd(str, i, len);
+      total += Rle.encodedRunLength(end - i);
+      if (total >= len) {
+        return NO_GAIN;
+      }
+      i = end;
+    }
+    return len == 0 ? NO_GAIN : total;
+  }
+
+  /** This method computes the length of the compressed form of src[off, off + len) without
+   * building it.
+   *
+   * @param src the input chars
+   * @param off the index of the first input char
+   * @param len the number of input chars
+   * @return the compressed length, or {@link #NO_GAIN} as soon as it is clear that it will not be
+   *     shorter than len
+   * @throws NullPointerException if src is null
+   * @throws IndexOutOfBoundsException if the range is outside src
+   */
+  public int compressedLength(char[] src, int off, int len) {
+    Objects.checkFromIndexSize(off, len, src.length);
+    int end = off + len;
+    int total = 0;
+    int i = off;
+    while (i < end) {
+      int runEnd = scanner.runEnd(src, i, end);
+      total += Rle.encodedRunLength(runEnd - i);
+      if (total >= len) {
+        return NO_GAIN;
+      }
+      i = runEnd;
+    }
+    return len == 0 ? NO_GAIN : total;
+  }
+
+  /** This method compresses str into dst starting at dstOff, without allocating.
+   *
+   * @param str the input
+   * @param dst the array the compressed chars are written to; it needs room for the compressed
+   *     length, at most str.length() - 1 chars
+   * @param dstOff the index the first compressed char is written to
+   * @return the number of chars written, or {@link #NO_GAIN} if compression does not pay off, in
+   *     which case the contents of dst past dstOff are unspecified
+   * @throws NullPointerException if str or dst is null
+   * @throws IndexOutOfBoundsException if the compressed form does not fit into dst
+   */
+  public int compress(CharSequence str, char[] dst, int dstOff) {
+    return compress(str, dst, dstOff, dst.length);
+  }
+
+  /** This method compresses src[srcOff, srcOff + len) into dst starting at dstOff, without
+   * allocating. Runs are found with the vectorized scanner when it is available.
+   *
+   * @param src the input chars
+   * @param srcOff the index of the first input char
+   * @param len the number of input chars
+   * @param dst the array the compressed chars are written to; it needs room for the compressed
+   *     length, at most len - 1 chars
+   * @param dstOff the index the first compressed char is written to
+   * @return the number of chars written, or {@link #NO_GAIN} if compression does not pay off, in
+   *     which case the contents of dst past dstOff are unspecified
+   * @throws NullPointerException if src or dst is null
+   * @throws IndexOutOfBoundsException if the input range is outside src or the compressed form
+   *     does not fit into dst
+   */
+  public int compress(char[] src, int srcOff, int len, char[] dst, int dstOff) {
+    Objects.checkFromIndexSize(srcOff, len, src.length);
+    int end = srcOff + len;
+    int pos = dstOff;
+    int i = srcOff;
+    while (i < end) {
+      int runEnd = scanner.runEnd(src, i, end);
+      pos = putRun(dst, pos, dstOff, dst.length, src[i], runEnd - i, len);
+      if (pos == NO_GAIN) {
+        return NO_GAIN;
+      }
+      i = runEnd;
+    }
+    return len == 0 ? NO_GAIN : pos - dstOff;
+  }
+
+  /** This method compresses str into dst at its position. On success the position is advanced
+   * past the compressed chars; on {@link #NO_GAIN} it is left where it was.
+   *
+   * @param str the input
+   * @param dst the buffer the compressed chars are put into
+   * @return the number of chars written, or {@link #NO_GAIN} if compression does not pay off
+   * @throws NullPointerException if str or dst is null
+   * @throws IndexOutOfBoundsException if the compressed form does not fit into dst
+   * @throws java.nio.ReadOnlyBufferException if dst is read-only
+   */
+  public int compress(CharSequence str, CharBuffer dst) {
+    int start = dst.position();
+    if (dst.hasArray()) {
+      int off = dst.arrayOffset();
+      int n = compress(str, dst.array(), off + start, off + dst.limit());
+      if (n != NO_GAIN) {
+        dst.position(start + n);
+      }
+      return n;
+    }
+    int len = str.length();
+    int total = compressedLength(str);
+    if (total == NO_GAIN) {
+      return NO_GAIN;
+    }
+    if (total > dst.remaining()) {
+      throw new IndexOutOfBoundsException("compressed form does not fit into the buffer");
+    }
+    int i = 0;
+    while (i < len) {
+      int end = runEnd(str, i, len);
+      dst.put(str.charAt(i));
+      putCount(dst, end - i);
+      i = end;
+    }
+    return total;
+  }
+
+  private static int compress(CharSequence str, char[] dst, int dstOff, int dstEnd) {
+    int len = str.length();
+    int pos = dstOff;
+    int i = 0;
+    while (i < len) {
+      int end = runEnd(str, i, len);
+      pos = putRun(dst, pos, dstOff, dstEnd, str.charAt(i), end - i, len);
+      if (pos == NO_GAIN) {
+        return NO_GAIN;
+      }
+      i = end;
+    }
+    return len == 0 ? NO_GAIN : pos - dstOff;
+  }
+
+  private static int runEnd(CharSequence str, int from, int to) {
+    char c = str.charAt(from);
+    int i = from + 1;
+    while (i < to && str.charAt(i) == c) {
+      i++;
+    }
+    return i;
+  }
+
+  /* Writes one run at pos, or returns NO_GAIN if the output written from dstOff on would no
+   * longer be shorter than inputLength. */
+  private static int putRun(char[] dst, int pos, int dstOff, int dstEnd, char c, int count, int inputLength) {
+    int runLength = Rle.encodedRunLength(count);
+    if (pos - dstOff + runLength >= inputLength) {
+      return NO_GAIN;
+    }
+    if (pos + runLength > dstEnd) {
+      throw new IndexOutOfBoundsException("compressed form does not fit into the destination");
+    }
+    dst[pos] = c;
+    return Rle.putCount(dst, pos + 1, count);
+  }
+
+  private static void putCount(CharBuffer dst, int count) {
+    int scale = 1;
+    while (count / scale >= 10) {
+      scale *= 10;
+    }
+    for (; scale > 0; scale /= 10) {
+      dst.put((char) ('0' + count / scale % 10));
+    }
+  }
+}
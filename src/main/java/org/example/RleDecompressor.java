@@ -0,0 +1,258 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reverses the run-length encoding of {@link StringUtilsFixed#compress(String)}, e.g. "a2b1c5a3" is
+ * decoded back to "aabcccccaaa". Every run is one character followed by its decimal count.
+ *
+ * <p>Note that compress returns its input unchanged when compression does not make it shorter, so
+ * the caller has to know that the text it decodes is in compressed form. Counts are read greedily,
+ * which means that the format cannot represent a run of digits directly after another run.
+ *
+ * <p>The {@link ByteBuffer} methods read the encoded text as single-byte characters (US-ASCII or
+ * ISO-8859-1) straight from the buffer, which may be a mapped file. They use absolute reads, so the
+ * position of the source buffer is never changed and the same buffer can first be measured with
+ * {@link #decodedLength(ByteBuffer)} and then decoded.
+ */
+public class RleDecompressor {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  /** This method decodes a compressed string.
+   *
+   * @param compressed the compressed string
+   * @return the decoded string
+   * @throws NullPointerException if compressed is null
+   * @throws IllegalArgumentException if compressed is not a valid run sequence
+   */
+  public String decompress(String compressed) {
+    CharBuffer dst = CharBuffer.allocate(Math.toIntExact(decodedLength(compressed)));
+    decode(compressed, dst);
+    return new String(dst.array());
+  }
+
+  /** This method computes the length of the decoded text without decoding it.
+   *
+   * @param src the compressed text
+   * @return the number of chars src decodes to
+   * @throws NullPointerException if src is null
+   * @throws IllegalArgumentException if src is not a valid run sequence
+   */
+  public long decodedLength(CharSequence src) {
+    long total = 0;
+    int i = 0;
+    while (i < src.length()) {
+      long count = count(src, i);
+      total += count;
+      i += Rle.encodedRunLength(count);
+    }
+    return total;
+  }
+
+  /** This method computes the length of the decoded text without decoding it. src is read from
+   * its position to its limit.
+   *
+   * @param src the compressed text, one byte per char
+   * @return the number of chars src decodes to
+   * @throws NullPointerException if src is null
+   * @throws IllegalArgumentException if src is not a valid run sequence
+   */
+  public long decodedLength(ByteBuffer src) {
+    long total = 0;
+    int i = src.position();
+    while (i < src.limit()) {
+      long count = count(src, i);
+      total += count;
+      i += Rle.encodedRunLength(count);
+    }
+    return total;
+  }
+
+  /** This method decodes src into dst, advancing the position of dst.
+   *
+   * @param src the compressed text
+   * @param dst the buffer the decoded chars are put into
+   * @return the number of chars written
+   * @throws NullPointerException if src or dst is null
+   * @throws IllegalArgumentException if src is not a valid run sequence
+   * @throws BufferOverflowException if dst has less room than {@link #decodedLength(CharSequence)}
+   */
+  public int decode(CharSequence src, CharBuffer dst) {
+    int start = dst.position();
+    int i = 0;
+    while (i < src.length()) {
+      long count = count(src, i);
+      fill(dst, src.charAt(i), count);
+      i += Rle.encodedRunLength(count);
+    }
+    return dst.position() - start;
+  }
+
+  /** This method decodes src (from its position to its limit) into dst, advancing the position of
+   * dst. The position of src is not changed.
+   *
+   * @param src the compressed text, one byte per char
+   * @param dst the buffer the decoded chars are put into
+   * @return the number of chars written
+   * @throws NullPointerException if src or dst is null
+   * @throws IllegalArgumentException if src is not a valid run sequence
+   * @throws BufferOverflowException if dst has less room than {@link #decodedLength(ByteBuffer)}
+   */
+  public int decode(ByteBuffer src, CharBuffer dst) {
+    int start = dst.position();
+    int i = src.position();
+    while (i < src.limit()) {
+      long count = count(src, i);
+      fill(dst, (char) (src.get(i) & 0xFF), count);
+      i += Rle.encodedRunLength(count);
+    }
+    return dst.position() - start;
+  }
+
+  /** This method decodes src (from its position to its limit) and writes the decoded bytes to out
+   * through a fixed-size buffer, so runs of any length are written without growing memory. The
+   * position of src is not changed and out is not closed.
+   *
+   * @param src the compressed text, one byte per char
+   * @param out the channel the decoded bytes are written to
+   * @return the number of bytes written
+   * @throws IOException if writing to out fails
+   * @throws NullPointerException if src or out is null
+   * @throws IllegalArgumentException if src is not a valid run sequence
+   */
+  public long decode(ByteBuffer src, WritableByteChannel out) throws IOException {
+    byte[] chunk = new byte[CHUNK_SIZE];
+    ByteBuffer pending = ByteBuffer.wrap(chunk);
+    long total = 0;
+    int i = src.position();
+    while (i < src.limit()) {
+      long count = count(src, i);
+      byte b = src.get(i);
+      i += Rle.encodedRunLength(count);
+      total += count;
+      while (count > 0) {
+        int n = (int) Math.min(count, pending.remaining());
+        Arrays.fill(chunk, pending.position(), pending.position() + n, b);
+        pending.position(pending.position() + n);
+        count -= n;
+        if (!pending.hasRemaining()) {
+          drain(pending, out);
+        }
+      }
+    }
+    drain(pending, out);
+    return total;
+  }
+
+  /** This method decodes a compressed file to out. The file is memory-mapped and decoded in place
+   * with {@link #decode(ByteBuffer, WritableByteChannel)}.
+   *
+   * @param file the compressed file, one byte per char
+   * @param out the channel the decoded bytes are written to
+   * @return the number of bytes written
+   * @throws IOException if the file cannot be mapped or writing to out fails
+   * @throws IllegalArgumentException if the file is not a valid run sequence
+   */
+  public long decode(Path file, WritableByteChannel out) throws IOException {
+    return decode(map(file), out);
+  }
+
+  /** This method maps a compressed file read-only so that it can be measured and decoded with the
+   * {@link ByteBuffer} methods.
+   *
+   * @param file the compressed file
+   * @return the mapped contents of file
+   * @throws IOException if the file cannot be opened, is larger than 2 GB, or cannot be mapped
+   */
+  public MappedByteBuffer map(Path file) throws IOException {
+    try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = ch.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("file too large to map in one piece: " + file);
+      }
+      return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  /* Parses the count of the run starting at i (the run character). Counts have no sign and no
+   * leading zero, so the run occupies exactly Rle.encodedRunLength(count) chars. */
+  private static long count(CharSequence src, int i) {
+    int j = i + 1;
+    long count = 0;
+    while (j < src.length()) {
+      int digit = src.charAt(j) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      count = accumulate(count, digit, i);
+      j++;
+    }
+    return checkCount(count, j - i - 1, i);
+  }
+
+  private static long count(ByteBuffer src, int i) {
+    int j = i + 1;
+    long count = 0;
+    while (j < src.limit()) {
+      int digit = src.get(j) - '0';
+      if (digit < 0 || digit > 9) {
+        break;
+      }
+      count = accumulate(count, digit, i);
+      j++;
+    }
+    return checkCount(count, j - i - 1, i);
+  }
+
+  private static long accumulate(long count, int digit, int run) {
+    if (count == 0 && digit == 0) {
+      throw new IllegalArgumentException("count of run at offset " + run + " is zero or has a leading zero");
+    }
+    if (count > (Long.MAX_VALUE - digit) / 10) {
+      throw new IllegalArgumentException("count of run at offset " + run + " is too large");
+    }
+    return 10 * count + digit;
+  }
+
+  private static long checkCount(long count, int digits, int run) {
+    if (digits == 0) {
+      throw new IllegalArgumentException("run at offset " + run + " has no count");
+    }
+    return count;
+  }
+
+  private static void fill(CharBuffer dst, char c, long count) {
+    if (count > dst.remaining()) {
+      throw new BufferOverflowException();
+    }
+    int n = (int) count;
+    int pos = dst.position();
+    if (dst.hasArray()) {
+      int from = dst.arrayOffset() + pos;
+      Arrays.fill(dst.array(), from, from + n, c);
+      dst.position(pos + n);
+    } else {
+      for (int k = 0; k < n; k++) {
+        dst.put(c);
+      }
+    }
+  }
+
+  private static void drain(ByteBuffer pending, WritableByteChannel out) throws IOException {
+    pending.flip();
+    while (pending.hasRemaining()) {
+      out.write(pending);
+    }
+    pending.clear();
+  }
+}
@@ -0,0 +1,227 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming counterpart of {@link StringUtilsFixed#compress(String)}. The input is read in fixed-size
+ * buffers and the runs are written as soon as they end, so memory use does not depend on the size of
+ * the input. The run that is open at the end of a buffer is carried over to the next one.
+ *
+ * <p>The output is exactly what {@code StringUtilsFixed.compress} would return for the whole input:
+ * if the compressed form is not shorter than the input, the input is written unchanged. Deciding that
+ * needs the input twice, so the file based method reads the file twice and the {@link Reader} based
+ * method spools the input to a temporary file while measuring it.
+ */
+public class RleStreamCompressor {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /* The longest run written in one go: the run character plus the digits of Long.MAX_VALUE. */
+  private static final int MAX_RUN_CHARS = 20;
+
+  private final int bufferSize;
+
+  public RleStreamCompressor() {
+    this(DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param bufferSize the number of chars read and written at a time
+   * @throws IllegalArgumentException if bufferSize is less than 1
+   */
+  public RleStreamCompressor(int bufferSize) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+    }
+    this.bufferSize = bufferSize;
+  }
+
+  /** This method compresses everything that can be read from in and writes the result to out.
+   * The input is spooled to a temporary file, which is deleted before the method returns.
+   * Neither stream is closed; out is flushed.
+   *
+   * @param in the input to be compressed
+   * @param out the destination of the compressed (or original) text
+   * @return the number of chars written to out
+   * @throws IOException if reading, writing or spooling fails
+   * @throws NullPointerException if in or out is null
+   */
+  public long compress(Reader in, Writer out) throws IOException {
+    Path spool = Files.createTempFile("rle-spool", ".tmp");
+    try {
+      Measure measure;
+      try (FileChannel ch = FileChannel.open(spool, StandardOpenOption.WRITE)) {
+        measure = measure(in, ch);
+      }
+      try (FileChannel ch = FileChannel.open(spool, StandardOpenOption.READ)) {
+        return write(new SpoolReader(ch, bufferSize), out, measure);
+      }
+    } finally {
+      Files.deleteIfExists(spool);
+    }
+  }
+
+  /** This method compresses a text file without spooling: the file is read once to measure it and
+   * once more to write the output. out is flushed but not closed.
+   *
+   * @param file the file to be compressed
+   * @param charset the charset the file is encoded in
+   * @param out the destination of the compressed (or original) text
+   * @return the number of chars written to out
+   * @throws IOException if reading or writing fails
+   * @throws NullPointerException if any argument is null
+   */
+  public long compress(Path file, Charset charset, Writer out) throws IOException {
+    Measure measure;
+    try (Reader in = Files.newBufferedReader(file, charset)) {
+      measure = measure(in, null);
+    }
+    try (Reader in = Files.newBufferedReader(file, charset)) {
+      return write(in, out, measure);
+    }
+  }
+
+  /** Channel variant of {@link #compress(Reader, Writer)}. Bytes are decoded from in and the
+   * output is encoded to out with the same charset. Neither channel is closed.
+   *
+   * @param in the channel to read the input from
+   * @param out the channel to write the output to
+   * @param charset the charset of both channels
+   * @return the number of chars written to out
+   * @throws IOException if reading, writing or spooling fails
+   * @throws NullPointerException if any argument is null
+   */
+  public long compress(ReadableByteChannel in, WritableByteChannel out, Charset charset) throws IOException {
+    Writer writer = Channels.newWriter(out, charset.newEncoder(), bufferSize);
+    return compress(Channels.newReader(in, charset.newDecoder(), bufferSize), writer);
+  }
+
+  /* First pass: the lengths of the input and of its compressed form. When spool is not null the
+   * input is copied into it as raw UTF-16 so the second pass can replay it exactly. */
+  private Measure measure(Reader in, FileChannel spool) throws IOException {
+    char[] buf = new char[bufferSize];
+    ByteBuffer bytes = spool == null ? null : ByteBuffer.allocate(bufferSize * 2);
+    long inputLength = 0;
+    long compressedLength = 0;
+    int last = -1;
+    long count = 0;
+    int n;
+    while ((n = in.read(buf, 0, bufferSize)) != -1) {
+      if (spool != null) {
+        bytes.clear();
+        bytes.asCharBuffer().put(buf, 0, n);
+        bytes.limit(n * 2);
+        while (bytes.hasRemaining()) {
+          spool.write(bytes);
+        }
+      }
+      for (int i = 0; i < n; i++) {
+        if (buf[i] == last) {
+          count++;
+        } else {
+          if (count > 0) {
+            compressedLength += Rle.encodedRunLength(count);
+          }
+          last = buf[i];
+          count = 1;
+        }
+      }
+      inputLength += n;
+    }
+    if (count > 0) {
+      compressedLength += Rle.encodedRunLength(count);
+    }
+    return new Measure(inputLength, compressedLength);
+  }
+
+  /* Second pass: writes either the runs or the input itself, depending on the first pass. */
+  private long write(Reader in, Writer out, Measure measure) throws IOException {
+    char[] buf = new char[bufferSize];
+    int n;
+    if (measure.compressedLength >= measure.inputLength) {
+      while ((n = in.read(buf, 0, bufferSize)) != -1) {
+        out.write(buf, 0, n);
+      }
+      out.flush();
+      return measure.inputLength;
+    }
+
+    char[] encoded = new char[bufferSize + MAX_RUN_CHARS];
+    int pos = 0;
+    int last = -1;
+    long count = 0;
+    while ((n = in.read(buf, 0, bufferSize)) != -1) {
+      for (int i = 0; i < n; i++) {
+        if (buf[i] == last) {
+          count++;
+        } else {
+          if (count > 0) {
+            encoded[pos++] = (char) last;
+            pos = Rle.putCount(encoded, pos, count);
+            if (pos >= bufferSize) {
+              out.write(encoded, 0, pos);
+              pos = 0;
+            }
+          }
+          last = buf[i];
+          count = 1;
+        }
+      }
+    }
+    if (count > 0) {
+      encoded[pos++] = (char) last;
+      pos = Rle.putCount(encoded, pos, count);
+    }
+    out.write(encoded, 0, pos);
+    out.flush();
+    return measure.compressedLength;
+  }
+
+  private record Measure(long inputLength, long compressedLength) {
+  }
+
+  /* Replays the raw UTF-16 spool written by measure. */
+  private static final class SpoolReader extends Reader {
+    private final FileChannel channel;
+    private final ByteBuffer bytes;
+
+    SpoolReader(FileChannel channel, int bufferSize) {
+      this.channel = channel;
+      this.bytes = ByteBuffer.allocate(bufferSize * 2);
+      this.bytes.flip();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+      while (bytes.remaining() < 2) {
+        bytes.compact();
+        int r = channel.read(bytes);
+        bytes.flip();
+        if (r == -1) {
+          return -1;
+        }
+      }
+      CharBuffer chars = bytes.asCharBuffer();
+      int n = Math.min(len, chars.remaining());
+      chars.get(cbuf, off, n);
+      bytes.position(bytes.position() + n * 2);
+      return n;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
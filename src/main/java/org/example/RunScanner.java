@@ -0,0 +1,48 @@
+package org.example;
+
+/**
+ * Finds where a run of equal chars ends. This is the inner loop of run-length encoding, so it is
+ * kept behind an interface: {@link #get()} returns a scanner based on the incubating Vector API
+ * when the {@code jdk.incubator.vector} module is present (add it with
+ * {@code --add-modules jdk.incubator.vector}) and a plain loop otherwise.
+ */
+interface RunScanner {
+
+  String VECTOR_MODULE = "jdk.incubator.vector";
+
+  /** Returns the end of the run that starts at from.
+   *
+   * @param a the chars to scan
+   * @param from the index of the first char of the run, less than to
+   * @param to the index the scan stops at
+   * @return the index of the first char in a[from, to) that differs from a[from], or to
+   */
+  int runEnd(char[] a, int from, int to);
+
+  /**
+   * @return the fastest scanner available in this JVM
+   */
+  static RunScanner get() {
+    return Holder.BEST;
+  }
+
+  /* The vector scanner is only loaded when the module is present, so a missing module means
+   * falling back rather than a NoClassDefFoundError. */
+  final class Holder {
+    static final RunScanner BEST = select();
+
+    private Holder() {
+    }
+
+    private static RunScanner select() {
+      if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+        try {
+          return new VectorRunScanner();
+        } catch (LinkageError e) {
+          // fall through to the scalar loop
+        }
+      }
+      return new ScalarRunScanner();
+    }
+  }
+}
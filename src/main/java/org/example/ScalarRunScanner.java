@@ -0,0 +1,17 @@
+package org.example;
+
+/**
+ * {@link RunScanner} that compares one char at a time, as StringUtilsFixed.compress does.
+ */
+final class ScalarRunScanner implements RunScanner {
+
+  @Override
+  public int runEnd(char[] a, int from, int to) {
+    char c = a[from];
+    int i = from + 1;
+    while (i < to && a[i] == c) {
+      i++;
+    }
+    return i;
+  }
+}
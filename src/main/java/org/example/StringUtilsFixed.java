@@ -26,6 +26,18 @@ public class StringUtilsFixed {
     return compressed.length() < str.length() ? compressed.toString() : str;
   }
 
+  /** This method compresses a string into its runs of repeated consecutive characters, which can
+   * be read as a CharSequence without inflating it. For instance, aabcccccaaa is kept as
+   * a2b1c5a3, whatever its length compared to the input.
+   *
+   * @param str the input string to be compressed
+   * @return the runs of str
+   * @throws NullPointerException if str is null
+   */
+  public CompressedString compressToRuns(String str) {
+    return CompressedString.of(str);
+  }
+
   /** This method checks if two strings are permutations of each other or not. A permutation is a
    * rearrangement of characters. For instance, "cat" and "act" are permutations of each other while
    * "abcdd" and "bddae" are not.
@@ -55,6 +67,33 @@ public class StringUtilsFixed {
     return true;
   }
 
+  /** This method checks if two compressed strings are permutations of each other, working from
+   * the run counts in O(runs) instead of O(length).
+   *
+   * @param str1 the first compressed string
+   * @param str2 the second compressed string
+   * @return true if the two strings are permutations of each other, false otherwise
+   * @throws NullPointerException if str1 or str2 is null
+   */
+  public boolean isPermutation(CompressedString str1, CompressedString str2) {
+    if (str1.length() != str2.length()) {
+      return false;
+    }
+    int[] letters = new int[256];
+    for (int r = 0; r < str1.runCount(); r++) {
+      letters[str1.runChar(r)] += str1.runLength(r);
+    }
+
+    for (int r = 0; r < str2.runCount(); r++) {
+      int c = str2.runChar(r);
+      letters[c] -= str2.runLength(r);
+      if (letters[c] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /** This method checks if a string is a permutation of a palindrome or not. A permutation is a
    * rearrangement of characters. A palindrome string is a string that reads the
    * same forward and backwards. For example, "F", "ABA", "abdgjgdba", "bahhab" are all palindormes.
@@ -82,6 +121,31 @@ public class StringUtilsFixed {
     return countOdd <= 1;
   }
 
+  /** This method checks if a compressed string is a permutation of a palindrome, working from the
+   * run counts in O(runs) instead of O(length): a run only flips the parity of its letter when its
+   * count is odd.
+   *
+   * @param str the compressed string
+   * @return true if str is a permutation of a palindrome, false otherwise.
+   * @throws NullPointerException is str is null
+   */
+  public boolean isPermutationOfPalindrome(CompressedString str) {
+    int countOdd = 0;
+    int[] table = new int[Character.getNumericValue('z') - Character.getNumericValue('a') + 1];
+    for (int r = 0; r < str.runCount(); r++) {
+      int x = getCharNumber(str.runChar(r));
+      if (x != -1 && str.runLength(r) % 2 == 1) {
+        table[x]++;
+        if (table[x] % 2 == 1) {
+          countOdd++;
+        } else {
+          countOdd--;
+        }
+      }
+    }
+    return countOdd <= 1;
+  }
+
   /** IGNORE THIS ONE: This method does not need to be tested.
    * Auxiliary method used by isPermutationOfPalindrome.
    * @param c
@@ -0,0 +1,220 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validates a file of Sudoku boards, one 81-char line per board with '.' for an empty cell, as
+ * {@link SudokuFixed#isValidSudoku(char[][])} would validate each of them. The file is split into
+ * line-aligned chunks (see {@link LineChunks}), and every chunk is memory-mapped and validated on a
+ * {@link ForkJoinPool} with {@link SudokuValidator#isValidSudoku(ByteBuffer, int)}, straight from
+ * the mapping.
+ *
+ * <p>Lines end at '\n', optionally preceded by '\r'. A line of any length but 81 is an invalid
+ * board, just as a board of another shape is for isValidSudoku, so board i is always line i; a
+ * terminator at the end of the file does not start another board.
+ */
+public class SudokuBatchValidator {
+
+    static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public SudokuBatchValidator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param pool the pool the chunks are validated on
+     * @param chunkSize the number of bytes a worker validates in one go, rounded up to whole lines
+     * @throws NullPointerException if pool is null
+     * @throws IllegalArgumentException if chunkSize is less than 1
+     */
+    public SudokuBatchValidator(ForkJoinPool pool, int chunkSize) {
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /** The outcome of validating one file. */
+    public static final class Result {
+        private final long boards;
+        private final BitSet invalid;
+        private final long elapsedNanos;
+
+        Result(long boards, BitSet invalid, long elapsedNanos) {
+            this.boards = boards;
+            this.invalid = invalid;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * @return the number of boards, i.e. lines, in the file
+         */
+        public long boards() {
+            return boards;
+        }
+
+        /**
+         * @return a set with bit i set when board i, counted from 0, is invalid
+         */
+        public BitSet invalid() {
+            return (BitSet) invalid.clone();
+        }
+
+        /**
+         * @return the indices of the invalid boards, in increasing order
+         */
+        public int[] invalidIndices() {
+            return invalid.stream().toArray();
+        }
+
+        /**
+         * @return the number of invalid boards
+         */
+        public int invalidCount() {
+            return invalid.cardinality();
+        }
+
+        /**
+         * @return the wall-clock time the validation took, including mapping the file
+         */
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * @return the throughput, boards validated per second of wall-clock time
+         */
+        public double boardsPerSecond() {
+            return elapsedNanos == 0 ? 0 : boards * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d boards, %d invalid, %.0f boards/s", boards, invalidCount(), boardsPerSecond());
+        }
+    }
+
+    /**
+     * This method validates every board of a file.
+     * @param file the file, one board per line
+     * @return the invalid boards and the throughput
+     * @throws IOException if the file cannot be read or mapped
+     */
+    public Result validate(Path file) throws IOException {
+        long start = System.nanoTime();
+        Chunk[] chunks;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = LineChunks.split(ch, chunkSize);
+            chunks = new Chunk[bounds.length - 1];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = new Chunk(bounds[i], bounds[i + 1]);
+            }
+            if (chunks.length > 0) {
+                pool.invoke(new Validation(ch, chunks, 0, chunks.length));
+            }
+        }
+        BitSet invalid = new BitSet();
+        long base = 0;
+        for (Chunk c : chunks) {
+            if (c.failure != null) {
+                throw c.failure;
+            }
+            if (base + c.boards > Integer.MAX_VALUE) {
+                throw new IllegalStateException("too many boards for a BitSet");
+            }
+            for (int i = c.invalid.nextSetBit(0); i >= 0; i = c.invalid.nextSetBit(i + 1)) {
+                invalid.set((int) base + i);
+            }
+            base += c.boards;
+        }
+        return new Result(base, invalid, System.nanoTime() - start);
+    }
+
+    /* One line-aligned piece of the file and its invalid boards, counted from its first line. */
+    private static final class Chunk {
+        final long start;
+        final long end;
+        final BitSet invalid = new BitSet();
+        int boards;
+        IOException failure;
+
+        Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class Validation extends RecursiveAction {
+        private final FileChannel ch;
+        private final Chunk[] chunks;
+        private final int lo;
+        private final int hi;
+
+        Validation(FileChannel ch, Chunk[] chunks, int lo, int hi) {
+            this.ch = ch;
+            this.chunks = chunks;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new Validation(ch, chunks, lo, mid), new Validation(ch, chunks, mid, hi));
+                return;
+            }
+            Chunk c = chunks[lo];
+            try {
+                validateLines(LineChunks.map(ch, c.start, c.end), c);
+            } catch (IOException e) {
+                c.failure = e;
+            }
+        }
+    }
+
+    private static void validateLines(ByteBuffer buf, Chunk c) {
+        int n = buf.limit();
+        int line = 0;
+        while (line < n) {
+            // A board that passes has 81 cells of '.' or digits, so no '\n' among them, and the line
+            // really ends where the terminator was expected. Only a failed board needs a search for
+            // the end of its line.
+            int end = line + SudokuBoard.CELLS;
+            int next;
+            if (end <= n && isTerminator(buf, end, n) && SudokuValidator.isValidSudoku(buf, line)) {
+                next = end < n && buf.get(end) == '\r' ? end + 1 : end;
+            } else {
+                c.invalid.set(c.boards);
+                next = line;
+                while (next < n && buf.get(next) != '\n') {
+                    next++;
+                }
+            }
+            c.boards++;
+            line = next + 1;
+        }
+    }
+
+    /* True if the line ends at i: at the end, or at "\n" or "\r\n". */
+    private static boolean isTerminator(ByteBuffer buf, int i, int n) {
+        if (i == n || buf.get(i) == '\n') {
+            return true;
+        }
+        return buf.get(i) == '\r' && (i + 1 == n || buf.get(i + 1) == '\n');
+    }
+}
@@ -0,0 +1,233 @@
+package org.example;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A 9 x 9 Sudoku board in a single {@code byte[81]}, row after row, holding 0 for an empty cell and
+ * the digit 1-9 otherwise. Boards usually arrive as 81-char lines or byte records with '.' for an
+ * empty cell; {@link #load} reads them at an offset without any intermediate arrays, and one board
+ * can be reused for any number of records. The {@code char[][]} form of
+ * {@link SudokuFixed#isValidSudoku(char[][])} is supported by {@link #of(char[][])} and
+ * {@link #toCharArray()}.
+ *
+ * <p>Loading accepts only '.' and '1'-'9', so a board always holds legal cells; whether its digits
+ * repeat is up to {@link #isValid()}. To check raw records, which may contain anything, use the
+ * validators of {@link SudokuValidator} directly.
+ */
+public final class SudokuBoard {
+
+    /** The number of cells, and of chars in the line form. */
+    public static final int CELLS = 81;
+
+    private final byte[] cells = new byte[CELLS];
+
+    /** Creates an empty board. */
+    public SudokuBoard() {
+    }
+
+    /**
+     * This method creates a board from 81 chars of a line.
+     * @param s the line, '.' for an empty cell
+     * @param off the index of the first cell
+     * @return the board
+     * @throws IndexOutOfBoundsException if s has fewer than 81 chars at off
+     * @throws IllegalArgumentException if a cell is not '.' or '1'-'9'
+     */
+    public static SudokuBoard of(CharSequence s, int off) {
+        return new SudokuBoard().load(s, off);
+    }
+
+    /**
+     * This method creates a board from a 9 x 9 array as taken by
+     * {@link SudokuFixed#isValidSudoku(char[][])}.
+     * @param board the board, '.' for an empty cell
+     * @return the board
+     * @throws IllegalArgumentException if board is not 9 x 9 or a cell is not '.' or '1'-'9'
+     */
+    public static SudokuBoard of(char[][] board) {
+        if (board == null || board.length != 9) {
+            throw new IllegalArgumentException("board must have 9 rows");
+        }
+        SudokuBoard b = new SudokuBoard();
+        for (int i = 0; i < 9; i++) {
+            if (board[i] == null || board[i].length != 9) {
+                throw new IllegalArgumentException("row " + i + " must have 9 cells");
+            }
+            for (int j = 0; j < 9; j++) {
+                b.cells[9 * i + j] = digit(board[i][j], 9 * i + j);
+            }
+        }
+        return b;
+    }
+
+    /**
+     * This method replaces the cells of this board with 81 chars of a line.
+     * @param s the line, '.' for an empty cell
+     * @param off the index of the first cell
+     * @return this board
+     * @throws IndexOutOfBoundsException if s has fewer than 81 chars at off
+     * @throws IllegalArgumentException if a cell is not '.' or '1'-'9'; the board is then undefined
+     */
+    public SudokuBoard load(CharSequence s, int off) {
+        Objects.checkFromIndexSize(off, CELLS, s.length());
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = digit(s.charAt(off + i), i);
+        }
+        return this;
+    }
+
+    /**
+     * This method replaces the cells of this board with an 81-byte record.
+     * @param a the record, one ASCII char per cell, '.' for an empty cell
+     * @param off the index of the first cell
+     * @return this board
+     * @throws IndexOutOfBoundsException if a has fewer than 81 bytes at off
+     * @throws IllegalArgumentException if a cell is not '.' or '1'-'9'; the board is then undefined
+     */
+    public SudokuBoard load(byte[] a, int off) {
+        Objects.checkFromIndexSize(off, CELLS, a.length);
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = digit((char) (a[off + i] & 0xFF), i);
+        }
+        return this;
+    }
+
+    /**
+     * This method replaces the cells of this board with an 81-byte record at an absolute index of
+     * a buffer, whose position is not changed.
+     * @param b the buffer, one ASCII char per cell, '.' for an empty cell
+     * @param index the index of the first cell
+     * @return this board
+     * @throws IndexOutOfBoundsException if b has fewer than 81 bytes at index before its limit
+     * @throws IllegalArgumentException if a cell is not '.' or '1'-'9'; the board is then undefined
+     */
+    public SudokuBoard load(ByteBuffer b, int index) {
+        Objects.checkFromIndexSize(index, CELLS, b.limit());
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = digit((char) (b.get(index + i) & 0xFF), i);
+        }
+        return this;
+    }
+
+    /**
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @return the digit of the cell, 0 if it is empty
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     */
+    public int get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    /**
+     * @param row the row, 0-8
+     * @param col the column, 0-8
+     * @param digit the new digit of the cell, 0 to empty it
+     * @throws IndexOutOfBoundsException if row or col is not 0-8
+     * @throws IllegalArgumentException if digit is not 0-9
+     */
+    public void set(int row, int col, int digit) {
+        int i = index(row, col);
+        if (digit < 0 || digit > 9) {
+            throw new IllegalArgumentException("digit must be 0-9: " + digit);
+        }
+        cells[i] = (byte) digit;
+    }
+
+    /**
+     * This method checks that no digit repeats in a row, column or box.
+     * @return true if valid, false otherwise
+     */
+    public boolean isValid() {
+        return SudokuValidator.isValid(this);
+    }
+
+    /**
+     * This method writes the board as an 81-byte record.
+     * @param a the array the record is written to
+     * @param off the index of the first cell
+     * @throws IndexOutOfBoundsException if a has fewer than 81 bytes at off
+     */
+    public void writeTo(byte[] a, int off) {
+        Objects.checkFromIndexSize(off, CELLS, a.length);
+        for (int i = 0; i < CELLS; i++) {
+            a[off + i] = (byte) toChar(cells[i]);
+        }
+    }
+
+    /**
+     * This method puts the board as an 81-byte record into a buffer at its position, and advances
+     * the position.
+     * @param b the buffer the record is put into
+     * @throws BufferOverflowException if b has fewer than 81 bytes remaining
+     */
+    public void writeTo(ByteBuffer b) {
+        if (b.remaining() < CELLS) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < CELLS; i++) {
+            b.put((byte) toChar(cells[i]));
+        }
+    }
+
+    /**
+     * @return a new 9 x 9 array for {@link SudokuFixed#isValidSudoku(char[][])}
+     */
+    public char[][] toCharArray() {
+        char[][] board = new char[9][9];
+        for (int i = 0; i < CELLS; i++) {
+            board[i / 9][i % 9] = toChar(cells[i]);
+        }
+        return board;
+    }
+
+    /**
+     * @return the board as an 81-char line, '.' for an empty cell
+     */
+    @Override
+    public String toString() {
+        char[] line = new char[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            line[i] = toChar(cells[i]);
+        }
+        return new String(line);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SudokuBoard other && Arrays.equals(cells, other.cells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(cells);
+    }
+
+    /* The cells themselves, for the validator and solver; callers must not keep them. */
+    byte[] cells() {
+        return cells;
+    }
+
+    private static int index(int row, int col) {
+        Objects.checkIndex(row, 9);
+        Objects.checkIndex(col, 9);
+        return 9 * row + col;
+    }
+
+    private static byte digit(char c, int cell) {
+        if (c == '.') {
+            return 0;
+        }
+        if (c < '1' || c > '9') {
+            throw new IllegalArgumentException("cell " + cell + " is neither '.' nor a digit 1-9: " + c);
+        }
+        return (byte) (c - '0');
+    }
+
+    private static char toChar(byte digit) {
+        return digit == 0 ? '.' : (char) ('0' + digit);
+    }
+}
@@ -0,0 +1,355 @@
+package org.example;
+
+/**
+ * Solves Sudoku boards given in the {@code char[][]} form of
+ * {@link SudokuFixed#isValidSudoku(char[][])} or as a {@link SudokuBoard}.
+ *
+ * <p>The candidates are kept as bitboards: for every digit, the cells it can still go to, as one
+ * int per band of three rows with bit 9 * (row % 3) + col for a cell. Placing a digit clears it from
+ * the 20 peers of its cell and clears the cell from the other eight digits, a handful of word
+ * operations. Cells left with one candidate (naked singles) and digits left with one cell in a row,
+ * column or box (hidden singles) are then placed until neither is found. If cells are still open,
+ * the search branches on one with the fewest candidates and tries each of them on a copy of the
+ * bitboards. The copies live in a stack allocated once per solver, so a solver that is reused
+ * allocates nothing; it is not thread-safe.
+ */
+public final class SudokuSolver {
+
+    /* The cells of a band. */
+    private static final int BAND = (1 << 27) - 1;
+    /* Row 0, column 0 and box 0 of a band; row r is ROW << 9 * r, column c is COLUMN << c and box k
+     * is BOX << 3 * k. */
+    private static final int ROW = 0x1FF;
+    private static final int COLUMN = 1 | 1 << 9 | 1 << 18;
+    private static final int BOX = 7 | 7 << 9 | 7 << 18;
+    /* A state holds the cells of digit d in band b at 3 * d + b, then the placed cells per band. */
+    private static final int PLACED = 27;
+    private static final int STATE = 30;
+
+    /* PEERS[3 * cell + b] are the peers of cell in band b, without the cell itself. Cell 9 * row +
+     * col is bit cell % 27 of band cell / 27, so cells need no other numbering. */
+    private static final int[] PEERS = new int[3 * 81];
+
+    static {
+        for (int cell = 0; cell < 81; cell++) {
+            int row = cell / 9;
+            int col = cell % 9;
+            for (int other = 0; other < 81; other++) {
+                int r = other / 9;
+                int c = other % 9;
+                boolean sameBox = r / 3 == row / 3 && c / 3 == col / 3;
+                if (other != cell && (r == row || c == col || sameBox)) {
+                    PEERS[3 * cell + other / 27] |= 1 << (other % 27);
+                }
+            }
+        }
+    }
+
+    /* states[depth] are the bitboards at each level of the search. */
+    private final int[][] states = new int[82][STATE];
+    private final int[] solution = new int[STATE];
+    private int found;
+
+    /**
+     * This method solves a board in place. It is left unchanged if it is invalid, as decided by
+     * {@link SudokuValidator#isValidSudoku(char[][])}, or has no solution; if it has several, one of
+     * them is filled in.
+     * @param board a char-typed 2d array representing the board, '.' indicating empty cell
+     * @return true if the board was solved, false otherwise
+     */
+    public boolean solve(char[][] board) {
+        if (!SudokuValidator.isValidSudoku(board)) {
+            return false;
+        }
+        int[] g = clear();
+        for (int i = 0; i < 81; i++) {
+            char c = board[i / 9][i % 9];
+            if (c != '.') {
+                place(g, c - '1', i);
+            }
+        }
+        if (!search(1)) {
+            return false;
+        }
+        for (int i = 0; i < 81; i++) {
+            board[i / 9][i % 9] = (char) ('1' + digit(solution, i));
+        }
+        return true;
+    }
+
+    /**
+     * This method solves a board in place. It is left unchanged if it is invalid or has no solution;
+     * if it has several, one of them is filled in.
+     * @param board the board
+     * @return true if the board was solved, false otherwise
+     * @throws NullPointerException if board is null
+     */
+    public boolean solve(SudokuBoard board) {
+        if (!board.isValid()) {
+            return false;
+        }
+        byte[] cells = board.cells();
+        load(cells);
+        if (!search(1)) {
+            return false;
+        }
+        for (int i = 0; i < 81; i++) {
+            cells[i] = (byte) (1 + digit(solution, i));
+        }
+        return true;
+    }
+
+    /**
+     * This method counts the solutions of a board, up to a limit; with a limit of 2 it tells if a
+     * puzzle is proper, i.e. has exactly one solution. The board is not changed.
+     * @param board the board
+     * @param limit the count at which the search stops
+     * @return the number of solutions, at most limit, and 0 if the board is invalid
+     * @throws NullPointerException if board is null
+     * @throws IllegalArgumentException if limit is less than 1
+     */
+    public int countSolutions(SudokuBoard board, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be positive: " + limit);
+        }
+        if (!board.isValid()) {
+            return 0;
+        }
+        load(board.cells());
+        search(limit);
+        return found;
+    }
+
+    /* Resets states[0] to an empty board. */
+    private int[] clear() {
+        int[] g = states[0];
+        for (int i = 0; i < PLACED; i++) {
+            g[i] = BAND;
+        }
+        g[PLACED] = 0;
+        g[PLACED + 1] = 0;
+        g[PLACED + 2] = 0;
+        return g;
+    }
+
+    /* Sets states[0] to a board that isValid accepted, so no given takes a candidate of another. */
+    private void load(byte[] cells) {
+        int[] g = clear();
+        for (int i = 0; i < 81; i++) {
+            if (cells[i] != 0) {
+                place(g, cells[i] - 1, i);
+            }
+        }
+    }
+
+    /* Searches from states[0] until limit solutions are found; the first one is kept in solution. */
+    private boolean search(int limit) {
+        found = 0;
+        search(0, limit);
+        return found > 0;
+    }
+
+    private void search(int depth, int limit) {
+        int[] g = states[depth];
+        if (!propagate(g)) {
+            return;
+        }
+        int cell = branchCell(g);
+        if (cell < 0) {
+            if (found == 0) {
+                System.arraycopy(g, 0, solution, 0, STATE);
+            }
+            found++;
+            return;
+        }
+        int b = cell / 27;
+        int bit = 1 << (cell % 27);
+        int[] next = states[depth + 1];
+        for (int d = 0; d < 9 && found < limit; d++) {
+            if ((g[3 * d + b] & bit) != 0) {
+                System.arraycopy(g, 0, next, 0, STATE);
+                place(next, d, cell);
+                search(depth + 1, limit);
+            }
+        }
+    }
+
+    /* Places naked and hidden singles until there are none left; false on a contradiction, i.e. a
+     * cell without candidates or a digit without a cell in some row, column or box. */
+    private static boolean propagate(int[] g) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = 0; b < 3; b++) {
+                int once = 0;
+                int twice = 0;
+                for (int d = 0; d < 9; d++) {
+                    int cells = g[3 * d + b];
+                    twice |= once & cells;
+                    once |= cells;
+                }
+                if (once != BAND) {
+                    return false;
+                }
+                for (int singles = once & ~twice & ~g[PLACED + b]; singles != 0; singles &= singles - 1) {
+                    int bit = singles & -singles;
+                    // a single placed before in this loop may have taken the last candidate
+                    int d = 0;
+                    while (d < 9 && (g[3 * d + b] & bit) == 0) {
+                        d++;
+                    }
+                    if (d == 9) {
+                        return false;
+                    }
+                    place(g, d, 27 * b + Integer.numberOfTrailingZeros(bit));
+                    changed = true;
+                }
+            }
+            // hidden singles only once the cheaper naked singles are exhausted
+            for (int d = 0; d < 9 && !changed; d++) {
+                int cell = hiddenSingle(g, d);
+                if (cell == -2) {
+                    return false;
+                }
+                if (cell >= 0) {
+                    place(g, d, cell);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /* Looks for a row, column or box with exactly one cell for digit d, not placed yet. Returns that
+     * cell, -2 if some unit has no cell at all for d, and -1 otherwise. */
+    private static int hiddenSingle(int[] g, int d) {
+        int c0 = g[3 * d];
+        int c1 = g[3 * d + 1];
+        int c2 = g[3 * d + 2];
+        int open0 = c0 & ~g[PLACED];
+        int open1 = c1 & ~g[PLACED + 1];
+        int open2 = c2 & ~g[PLACED + 2];
+        if ((open0 | open1 | open2) == 0) {
+            // placed in all nine boxes, or in none of some and found by the naked singles
+            return Integer.bitCount(c0) + Integer.bitCount(c1) + Integer.bitCount(c2) == 9 ? -1 : -2;
+        }
+        for (int k = 0; k < 3; k++) {
+            int row = ROW << 9 * k;
+            int box = BOX << 3 * k;
+            if ((c0 & row) == 0 || (c1 & row) == 0 || (c2 & row) == 0
+                    || (c0 & box) == 0 || (c1 & box) == 0 || (c2 & box) == 0) {
+                return -2;
+            }
+            int single = single(c0, open0, row, box);
+            if (single >= 0) {
+                return single;
+            }
+            single = single(c1, open1, row, box);
+            if (single >= 0) {
+                return 27 + single;
+            }
+            single = single(c2, open2, row, box);
+            if (single >= 0) {
+                return 54 + single;
+            }
+        }
+        for (int c = 0; c < 9; c++) {
+            int column = COLUMN << c;
+            int x0 = c0 & column;
+            int x1 = c1 & column;
+            int x2 = c2 & column;
+            int n = Integer.bitCount(x0) + Integer.bitCount(x1) + Integer.bitCount(x2);
+            if (n == 0) {
+                return -2;
+            }
+            if (n == 1) {
+                if ((open0 & x0) != 0) {
+                    return Integer.numberOfTrailingZeros(x0);
+                }
+                if ((open1 & x1) != 0) {
+                    return 27 + Integer.numberOfTrailingZeros(x1);
+                }
+                if ((open2 & x2) != 0) {
+                    return 54 + Integer.numberOfTrailingZeros(x2);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /* The bit of the open cell that is alone in the row or the box of a band, or -1. */
+    private static int single(int cells, int open, int row, int box) {
+        int x = cells & row;
+        if ((x & (x - 1)) == 0 && (open & x) != 0) {
+            return Integer.numberOfTrailingZeros(x);
+        }
+        x = cells & box;
+        if ((x & (x - 1)) == 0 && (open & x) != 0) {
+            return Integer.numberOfTrailingZeros(x);
+        }
+        return -1;
+    }
+
+    /* Returns an open cell with the fewest candidates, or -1 if all cells are placed. */
+    private static int branchCell(int[] g) {
+        int best = -1;
+        int bestCount = 10;
+        for (int b = 0; b < 3; b++) {
+            int open = ~g[PLACED + b] & BAND;
+            if (open == 0) {
+                continue;
+            }
+            int once = 0;
+            int twice = 0;
+            int thrice = 0;
+            for (int d = 0; d < 9; d++) {
+                int cells = g[3 * d + b];
+                thrice |= twice & cells;
+                twice |= once & cells;
+                once |= cells;
+            }
+            int pairs = twice & ~thrice & open;
+            if (pairs != 0) {
+                return 27 * b + Integer.numberOfTrailingZeros(pairs);
+            }
+            for (; open != 0; open &= open - 1) {
+                int bit = open & -open;
+                int count = 0;
+                for (int d = 0; d < 9; d++) {
+                    count += (g[3 * d + b] & bit) != 0 ? 1 : 0;
+                }
+                if (count < bestCount) {
+                    best = 27 * b + Integer.numberOfTrailingZeros(bit);
+                    bestCount = count;
+                }
+            }
+        }
+        return best;
+    }
+
+    /* Puts digit d into cell: clears the cell from the other digits and d from the peers. */
+    private static void place(int[] g, int d, int cell) {
+        int b = cell / 27;
+        int bit = 1 << (cell % 27);
+        for (int e = 0; e < 9; e++) {
+            if (e != d) {
+                g[3 * e + b] &= ~bit;
+            }
+        }
+        g[3 * d] &= ~PEERS[3 * cell];
+        g[3 * d + 1] &= ~PEERS[3 * cell + 1];
+        g[3 * d + 2] &= ~PEERS[3 * cell + 2];
+        g[PLACED + b] |= bit;
+    }
+
+    /* The digit of cell in a state where every cell is placed. */
+    private static int digit(int[] g, int cell) {
+        int b = cell / 27;
+        int bit = 1 << (cell % 27);
+        int d = 0;
+        while ((g[3 * d + b] & bit) == 0) {
+            d++;
+        }
+        return d;
+    }
+}
@@ -0,0 +1,263 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Validates Sudoku boards with the exact semantics of {@link SudokuFixed#isValidSudoku(char[][])},
+ * but without its 27 HashMaps and the boxing of every cell. A board is valid when it is a 9 x 9
+ * array, every cell is '.' or '1'-'9', and no digit repeats in a row, column or 3 x 3 box.
+ *
+ * <p>Seen digits are kept as bits in locals, so a check allocates nothing: the current row needs 9
+ * bits, the three boxes of the current band of rows 27 bits, and the nine columns 81 bits, split
+ * over two longs. Each cell is then one shift and one test against all three sets.
+ *
+ * <p>Boards that arrive as 81-char lines or 81-byte records, row after row, are validated where they
+ * are, at an offset, without building the ten arrays of the {@code char[][]} form; see also
+ * {@link SudokuBoard}.
+ */
+public final class SudokuValidator {
+
+    private SudokuValidator() {
+    }
+
+    /**
+     * This method determines if a 9 x 9 Sudoku board is valid, exactly as
+     * {@link SudokuFixed#isValidSudoku(char[][])} does.
+     * @param board a char-typed 2d array representing the board, '.' indicating empty cell
+     * @return true if valid, false otherwise, including for a null board or a board of another shape
+     */
+    public static boolean isValidSudoku(char[][] board) {
+        if (board == null || board.length != 9) {
+            return false;
+        }
+        for (char[] chars : board) {
+            if (chars == null || chars.length != 9) {
+                return false;
+            }
+        }
+        // column j, digit d is bit 9 * j + d, in columnsLow below 64 and in columnsHigh above; a
+        // long shift only uses the low six bits of its count, so 1L << (9 * j + d) fits either
+        long columnsLow = 0;
+        long columnsHigh = 0;
+        int boxes = 0;
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 == 0) {
+                boxes = 0;
+            }
+            char[] line = board[i];
+            int row = 0;
+            for (int j = 0; j < 9; j++) {
+                char num = line[j];
+                if (num == '.') {
+                    continue;
+                }
+                int d = num - '1';
+                if (d < 0 || d > 8) {
+                    return false;
+                }
+                int bit = 1 << d;
+                int boxBit = bit << (j / 3 * 9);
+                int column = 9 * j + d;
+                long columnBit = 1L << column;
+                long columns = column < 64 ? columnsLow : columnsHigh;
+                if ((row & bit) != 0 || (boxes & boxBit) != 0 || (columns & columnBit) != 0) {
+                    return false;
+                }
+                row |= bit;
+                boxes |= boxBit;
+                if (column < 64) {
+                    columnsLow |= columnBit;
+                } else {
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method determines if the 81 chars of a line at off form a valid Sudoku board, with the
+     * semantics of {@link SudokuFixed#isValidSudoku(char[][])}.
+     * @param s the line, row after row, '.' indicating empty cell
+     * @param off the index of the first cell
+     * @return true if valid, false otherwise
+     * @throws NullPointerException if s is null
+     * @throws IndexOutOfBoundsException if s has fewer than 81 chars at off
+     */
+    public static boolean isValidSudoku(CharSequence s, int off) {
+        Objects.checkFromIndexSize(off, SudokuBoard.CELLS, s.length());
+        long columnsLow = 0;
+        long columnsHigh = 0;
+        int boxes = 0;
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 == 0) {
+                boxes = 0;
+            }
+            int row = 0;
+            for (int j = 0; j < 9; j++) {
+                char num = s.charAt(off + 9 * i + j);
+                if (num == '.') {
+                    continue;
+                }
+                int d = num - '1';
+                if (d < 0 || d > 8) {
+                    return false;
+                }
+                int bit = 1 << d;
+                int boxBit = bit << (j / 3 * 9);
+                int column = 9 * j + d;
+                long columnBit = 1L << column;
+                long columns = column < 64 ? columnsLow : columnsHigh;
+                if ((row & bit) != 0 || (boxes & boxBit) != 0 || (columns & columnBit) != 0) {
+                    return false;
+                }
+                row |= bit;
+                boxes |= boxBit;
+                if (column < 64) {
+                    columnsLow |= columnBit;
+                } else {
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method determines if the 81 bytes of a record at off form a valid Sudoku board, with the
+     * semantics of {@link SudokuFixed#isValidSudoku(char[][])}.
+     * @param a the record, one ASCII char per cell, '.' indicating empty cell
+     * @param off the index of the first cell
+     * @return true if valid, false otherwise
+     * @throws NullPointerException if a is null
+     * @throws IndexOutOfBoundsException if a has fewer than 81 bytes at off
+     */
+    public static boolean isValidSudoku(byte[] a, int off) {
+        Objects.checkFromIndexSize(off, SudokuBoard.CELLS, a.length);
+        long columnsLow = 0;
+        long columnsHigh = 0;
+        int boxes = 0;
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 == 0) {
+                boxes = 0;
+            }
+            int row = 0;
+            for (int j = 0; j < 9; j++) {
+                byte num = a[off + 9 * i + j];
+                if (num == '.') {
+                    continue;
+                }
+                int d = num - '1';
+                if (d < 0 || d > 8) {
+                    return false;
+                }
+                int bit = 1 << d;
+                int boxBit = bit << (j / 3 * 9);
+                int column = 9 * j + d;
+                long columnBit = 1L << column;
+                long columns = column < 64 ? columnsLow : columnsHigh;
+                if ((row & bit) != 0 || (boxes & boxBit) != 0 || (columns & columnBit) != 0) {
+                    return false;
+                }
+                row |= bit;
+                boxes |= boxBit;
+                if (column < 64) {
+                    columnsLow |= columnBit;
+                } else {
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This method determines if the 81 bytes of a record at an absolute index of a buffer form a
+     * valid Sudoku board, with the semantics of {@link SudokuFixed#isValidSudoku(char[][])}. The
+     * position of the buffer is not changed.
+     * @param b the buffer, one ASCII char per cell, '.' indicating empty cell
+     * @param index the index of the first cell
+     * @return true if valid, false otherwise
+     * @throws NullPointerException if b is null
+     * @throws IndexOutOfBoundsException if b has fewer than 81 bytes at index before its limit
+     */
+    public static boolean isValidSudoku(ByteBuffer b, int index) {
+        Objects.checkFromIndexSize(index, SudokuBoard.CELLS, b.limit());
+        if (b.hasArray()) {
+            return isValidSudoku(b.array(), b.arrayOffset() + index);
+        }
+        long columnsLow = 0;
+        long columnsHigh = 0;
+        int boxes = 0;
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 == 0) {
+                boxes = 0;
+            }
+            int row = 0;
+            for (int j = 0; j < 9; j++) {
+                byte num = b.get(index + 9 * i + j);
+                if (num == '.') {
+                    continue;
+                }
+                int d = num - '1';
+                if (d < 0 || d > 8) {
+                    return false;
+                }
+                int bit = 1 << d;
+                int boxBit = bit << (j / 3 * 9);
+                int column = 9 * j + d;
+                long columnBit = 1L << column;
+                long columns = column < 64 ? columnsLow : columnsHigh;
+                if ((row & bit) != 0 || (boxes & boxBit) != 0 || (columns & columnBit) != 0) {
+                    return false;
+                }
+                row |= bit;
+                boxes |= boxBit;
+                if (column < 64) {
+                    columnsLow |= columnBit;
+                } else {
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+
+    /* Backs SudokuBoard.isValid. Its cells are always empty or 1-9, so a repeated digit is the only
+     * way it can be invalid. */
+    static boolean isValid(SudokuBoard board) {
+        byte[] cells = board.cells();
+        long columnsLow = 0;
+        long columnsHigh = 0;
+        int boxes = 0;
+        for (int i = 0; i < 9; i++) {
+            if (i % 3 == 0) {
+                boxes = 0;
+            }
+            int row = 0;
+            for (int j = 0; j < 9; j++) {
+                int d = cells[9 * i + j] - 1;
+                if (d < 0) {
+                    continue;
+                }
+                int bit = 1 << d;
+                int boxBit = bit << (j / 3 * 9);
+                int column = 9 * j + d;
+                long columnBit = 1L << column;
+                long columns = column < 64 ? columnsLow : columnsHigh;
+                if ((row & bit) != 0 || (boxes & boxBit) != 0 || (columns & columnBit) != 0) {
+                    return false;
+                }
+                row |= bit;
+                boxes |= boxBit;
+                if (column < 64) {
+                    columnsLow |= columnBit;
+                } else {
+                    columnsHigh |= columnBit;
+                }
+            }
+        }
+        return true;
+    }
+}
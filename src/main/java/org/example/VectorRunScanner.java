@@ -0,0 +1,37 @@
+package org.example;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link RunScanner} that compares a whole vector of chars against the run char at once and uses
+ * the first set lane of the mismatch mask as the run end. Chars are loaded as 16-bit lanes.
+ */
+final class VectorRunScanner implements RunScanner {
+
+  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+  @Override
+  public int runEnd(char[] a, int from, int to) {
+    char c = a[from];
+    int i = from + 1;
+    // most runs are short, so look at the next char before paying for a broadcast
+    if (i >= to || a[i] != c) {
+      return i;
+    }
+    ShortVector run = ShortVector.broadcast(SPECIES, (short) c);
+    int upper = to - SPECIES.length();
+    for (; i <= upper; i += SPECIES.length()) {
+      VectorMask<Short> diff = ShortVector.fromCharArray(SPECIES, a, i).compare(VectorOperators.NE, run);
+      if (diff.anyTrue()) {
+        return i + diff.firstTrue();
+      }
+    }
+    while (i < to && a[i] == c) {
+      i++;
+    }
+    return i;
+  }
+}
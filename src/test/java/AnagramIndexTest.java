@@ -0,0 +1,96 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for AnagramIndex.
+ */
+class AnagramIndexTest {
+
+  private AnagramIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new AnagramIndex();
+    index.addAll(List.of("cat", "act", "tac", "dog", "god", "abcdd", "bddae", "a"));
+  }
+
+  @Test
+  void testPermutationsOf_groupsAnagrams() {
+    assertEquals(List.of("cat", "act", "tac"), index.permutationsOf("tca"));
+    assertEquals(List.of("dog", "god"), index.permutationsOf("dog"));
+    assertEquals(List.of("abcdd"), index.permutationsOf("dbcda"));
+    assertTrue(index.permutationsOf("cats").isEmpty());
+    assertEquals(8, index.size());
+    assertEquals(5, index.classes().size());
+  }
+
+  @Test
+  void testSignature_equalForPermutationsOnly() {
+    assertEquals(AnagramIndex.signature("listen"), AnagramIndex.signature("silent"));
+    assertNotEquals(AnagramIndex.signature("ab"), AnagramIndex.signature("aab"));
+    assertNotEquals(AnagramIndex.signature("ad"), AnagramIndex.signature("bc"));
+  }
+
+  @Test
+  void testRemove_oneOccurrenceAtATime() {
+    index.add("cat");
+    assertTrue(index.remove("cat"));
+    assertEquals(List.of("act", "tac", "cat"), index.permutationsOf("cat"));
+    assertFalse(index.remove("cta"));
+    assertTrue(index.remove("dog"));
+    assertTrue(index.remove("god"));
+    assertTrue(index.permutationsOf("dog").isEmpty());
+    assertEquals(4, index.classes().size());
+    assertEquals(6, index.size());
+  }
+
+  /**
+   * With a constant signature every class collides, so grouping relies on verification alone.
+   */
+  @Test
+  void testCollidingSignatures_areVerified() {
+    AnagramIndex colliding = new AnagramIndex(s -> 0L);
+    colliding.addAll(List.of("ab", "ba", "cd", "dc", "e"));
+    assertEquals(List.of("ab", "ba"), colliding.permutationsOf("ab"));
+    assertEquals(List.of("cd", "dc"), colliding.permutationsOf("dc"));
+    assertTrue(colliding.remove("ab"));
+    assertTrue(colliding.remove("ba"));
+    assertTrue(colliding.permutationsOf("ab").isEmpty());
+    assertEquals(List.of("e"), colliding.permutationsOf("e"));
+    assertTrue(colliding.remove("e"));
+    assertEquals(List.of("cd", "dc"), colliding.permutationsOf("cd"));
+  }
+
+  /**
+   * Chars outside Latin-1 are grouped like any other.
+   */
+  @Test
+  void testAdd_unicode() {
+    index.add("żółw");
+    index.add("wółż");
+    assertEquals(List.of("żółw", "wółż"), index.permutationsOf("łwóż"));
+  }
+
+  @Test
+  void testAddAll_manyStrings() {
+    AnagramIndex big = new AnagramIndex();
+    List<String> words = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      words.add(Integer.toString(i));
+    }
+    big.addAll(words);
+    assertEquals(List.of("123", "132", "213", "231", "312", "321"), big.permutationsOf("321"));
+  }
+
+  @Test
+  void testAdd_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> index.add(null));
+  }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for BatchRleCompressor and RleArena.
+ */
+class BatchRleCompressorTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  private static List<String> records(int n, long seed) {
+    List<String> records = new ArrayList<>();
+    for (int i = 0; i < n; i++) {
+      records.add(RunData.runs((int) ((seed + i) % 40), 1 + i % 6, seed + i));
+    }
+    return records;
+  }
+
+  private void assertArenaMatches(List<String> records, RleArena arena) {
+    assertEquals(records.size(), arena.size());
+    for (int i = 0; i < records.size(); i++) {
+      String input = records.get(i);
+      String expected = reference.compress(input);
+      assertEquals(expected, arena.toString(i), "record " + i);
+      assertEquals(!expected.equals(input), arena.isCompressed(i), "record " + i);
+      assertEquals(expected, arena.view(i).toString());
+    }
+  }
+
+  /**
+   * A slice size of 3 spreads the records over many workers.
+   */
+  @Test
+  void testCompress_everyRecordMatchesStringUtilsFixed() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<String> records = records(500, 11);
+      RleArena arena = new BatchRleCompressor(pool, 3).compress(records, new RleArena(0, 0));
+      assertArenaMatches(records, arena);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testCompress_arrayAndStreamInputs() {
+    BatchRleCompressor batch = new BatchRleCompressor();
+    String[] records = {"aabcccccaaa", "", "ab", "zzzzzz"};
+    assertArenaMatches(List.of(records), batch.compress(records, new RleArena()));
+    assertArenaMatches(List.of(records), batch.compress(List.of(records).stream(), new RleArena()));
+    RleArena arena = batch.compress(records, new RleArena());
+    assertEquals(8 + 0 + 2 + 2, arena.totalLength());
+    assertEquals(arena.start(1), arena.start(2));
+  }
+
+  /**
+   * A second, smaller batch reuses the arrays of the first one.
+   */
+  @Test
+  void testCompress_reusesArenaAcrossBatches() {
+    BatchRleCompressor batch = new BatchRleCompressor(ForkJoinPool.commonPool(), 16);
+    RleArena arena = new RleArena(0, 0);
+    List<String> first = records(300, 1);
+    batch.compress(first, arena);
+    char[] data = arena.data();
+
+    List<String> second = records(100, 2);
+    batch.compress(second, arena);
+    assertSame(data, arena.data());
+    assertArenaMatches(second, arena);
+  }
+
+  @Test
+  void testArena_indexOutOfBounds() {
+    RleArena arena = new BatchRleCompressor().compress(new String[] {"aaa"}, new RleArena());
+    assertThrows(IndexOutOfBoundsException.class, () -> arena.start(1));
+    assertThrows(IndexOutOfBoundsException.class, () -> arena.length(-1));
+    arena.clear();
+    assertEquals(0, arena.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> arena.toString(0));
+  }
+
+  @Test
+  void testCompress_nullRecord_throwsNullPointerException() {
+    assertThrows(NullPointerException.class,
+        () -> new BatchRleCompressor().compress(new String[] {"a", null}, new RleArena()));
+  }
+}
@@ -0,0 +1,92 @@
+package org.example;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the decimal text format (StringUtilsFixed.compress / RleDecompressor) with
+ * BinaryRleCodec. Scores are operations per second on inputs of {@code length} chars, so the
+ * throughput in MB/s is score * length / 1e6. main prints the compression ratios first.
+ *
+ * <p>The mean run lengths all make the text format pay off, otherwise compress would hand back its
+ * input and there would be nothing to decode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryRleCodecBenchmark {
+
+  @Param({"3", "16", "256"})
+  int meanRun;
+
+  @Param({"1048576"})
+  int length;
+
+  private final StringUtilsFixed su = new StringUtilsFixed();
+  private final RleDecompressor rd = new RleDecompressor();
+  private final BinaryRleCodec codec = new BinaryRleCodec();
+
+  private String text;
+  private String textEncoded;
+  private byte[] bytes;
+  private byte[] binaryEncoded;
+
+  @Setup
+  public void setUp() {
+    text = RunData.runs(length, meanRun, 42);
+    textEncoded = su.compress(text);
+    bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+    binaryEncoded = codec.encode(bytes);
+  }
+
+  @Benchmark
+  public String textEncode() {
+    return su.compress(text);
+  }
+
+  @Benchmark
+  public String textDecode() {
+    return rd.decompress(textEncoded);
+  }
+
+  @Benchmark
+  public byte[] binaryEncode() {
+    return codec.encode(bytes);
+  }
+
+  @Benchmark
+  public byte[] binaryDecode() {
+    return codec.decode(binaryEncoded);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    BinaryRleCodecBenchmark b = new BinaryRleCodecBenchmark();
+    b.length = 1 << 20;
+    System.out.println("meanRun  text ratio  binary ratio");
+    for (int meanRun : new int[] {3, 16, 256}) {
+      b.meanRun = meanRun;
+      b.setUp();
+      System.out.printf("%7d  %10.3f  %12.3f%n", meanRun,
+          (double) b.textEncoded.length() / b.length, (double) b.binaryEncoded.length / b.length);
+    }
+    new Runner(new OptionsBuilder().include(BinaryRleCodecBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,122 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for BinaryRleCodec.
+ */
+class BinaryRleCodecTest {
+
+  private BinaryRleCodec codec;
+
+  @BeforeEach
+  void setUp() {
+    codec = new BinaryRleCodec();
+  }
+
+  private static byte[] ascii(String s) {
+    return s.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * "aabcccccaaa" after the four-byte header: run of two a, literal b, run of five c, run of three a.
+   */
+  @Test
+  void testEncode_typicalExample_layout() {
+    byte[] expected = {'R', 'L', 1, 11, (byte) 0x80, 'a', 0x00, 'b', (byte) 0x83, 'c', (byte) 0x81, 'a'};
+    assertArrayEquals(expected, codec.encode(ascii("aabcccccaaa")));
+  }
+
+  /**
+   * A pair inside a literal block stays literal; a pair on its own becomes a run.
+   */
+  @Test
+  void testEncode_pairs_joinOpenLiteralBlock() {
+    assertArrayEquals(new byte[] {'R', 'L', 1, 4, 0x03, 'x', 'a', 'a', 'y'}, codec.encode(ascii("xaay")));
+    assertArrayEquals(new byte[] {'R', 'L', 1, 3, (byte) 0x80, 'a', 0x00, 'y'}, codec.encode(ascii("aay")));
+  }
+
+  /**
+   * Runs longer than 128 bytes use the escape token and a varint count.
+   */
+  @Test
+  void testEncode_longRun_usesEscape() {
+    byte[] src = new byte[129 + 300];
+    byte[] encoded = codec.encode(src);
+    // header: R L 1 varint(429) = 0xAD 0x03; run: 0xFF 0 varint(300) = 0xAC 0x02
+    assertArrayEquals(new byte[] {'R', 'L', 1, (byte) 0xAD, 0x03, (byte) 0xFF, 0, (byte) 0xAC, 0x02}, encoded);
+    assertArrayEquals(src, codec.decode(encoded));
+  }
+
+  /**
+   * Digits are ordinary bytes, unlike in the text format.
+   */
+  @Test
+  void testRoundTrip_digitsAndEdgeCases() {
+    String[] inputs = {"", "a", "ab", "1112223", "000000000000", "a2b1c5a3", RunData.runs(5000, 40, 7)};
+    for (String input : inputs) {
+      assertArrayEquals(ascii(input), codec.decode(codec.encode(ascii(input))), input);
+    }
+  }
+
+  @Test
+  void testRoundTrip_allByteValuesAndLongRun() {
+    byte[] src = new byte[256 + 300_000];
+    for (int i = 0; i < 256; i++) {
+      src[i] = (byte) i;
+    }
+    byte[] encoded = codec.encode(src);
+    assertTrue(encoded.length < 300, "a long run should take a few bytes");
+    assertArrayEquals(src, codec.decode(encoded));
+  }
+
+  @Test
+  void testEncodedLength_matchesEncodeAndStaysWithinBound() {
+    String literals = "x" + "ab".repeat(64) + "cc" + "abc".repeat(100);
+    for (String input : new String[] {"", "aabbccdd", "abcabc", literals, RunData.runs(1000, 2, 3)}) {
+      ByteBuffer src = ByteBuffer.wrap(ascii(input));
+      int expected = codec.encodedLength(src);
+      assertEquals(expected, codec.encode(ascii(input)).length);
+      assertTrue(expected <= BinaryRleCodec.maxEncodedLength(input.length()));
+    }
+  }
+
+  @Test
+  void testDecode_directBuffers() {
+    byte[] encoded = codec.encode(ascii("zzzzzzzzzzyx"));
+    ByteBuffer src = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+    ByteBuffer dst = ByteBuffer.allocateDirect(codec.decodedLength(src));
+    assertEquals(12, codec.decode(src, dst));
+    assertFalse(src.hasRemaining());
+    dst.flip();
+    assertEquals('z', dst.get(0));
+    assertEquals('x', dst.get(11));
+  }
+
+  @Test
+  void testDecode_tooSmallBuffer_throwsBufferOverflowException() {
+    ByteBuffer src = ByteBuffer.wrap(codec.encode(ascii("aaaa")));
+    assertThrows(BufferOverflowException.class, () -> codec.decode(src, ByteBuffer.allocate(3)));
+  }
+
+  @Test
+  void testDecode_malformedInput_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(ascii("a2b1")));
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {'R', 'L', 2, 0}));
+    // declares three bytes but holds a run of five
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {'R', 'L', 1, 3, (byte) 0x83, 'a'}));
+    // declares three bytes but holds one
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {'R', 'L', 1, 3, 0x00, 'a'}));
+    // literal block longer than the input
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {'R', 'L', 1, 3, 0x02, 'a'}));
+    // truncated count
+    assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[] {'R', 'L', 1, 3, (byte) 0xFF, 'a', (byte) 0x81}));
+  }
+}
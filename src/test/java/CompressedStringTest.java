@@ -0,0 +1,99 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for CompressedString and the StringUtilsFixed methods that accept it. Results are
+ * compared with the same operations on the inflated String.
+ */
+class CompressedStringTest {
+
+  private StringUtilsFixed su;
+
+  @BeforeEach
+  void setUp() {
+    su = new StringUtilsFixed();
+  }
+
+  @Test
+  void testCompressToRuns_runsOfTypicalExample() {
+    CompressedString cs = su.compressToRuns("aabcccccaaa");
+    assertEquals(4, cs.runCount());
+    assertEquals('c', cs.runChar(2));
+    assertEquals(5, cs.runLength(2));
+    assertEquals(11, cs.length());
+    assertEquals("aabcccccaaa", cs.toString());
+    assertEquals("a2b1c5a3", cs.toRleString());
+    assertEquals("ab", su.compressToRuns("ab").toRleString());
+  }
+
+  @Test
+  void testCharAt_everyIndex() {
+    String input = RunData.runs(2000, 7, 3);
+    CompressedString cs = CompressedString.of(input);
+    for (int i = 0; i < input.length(); i++) {
+      assertEquals(input.charAt(i), cs.charAt(i));
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> cs.charAt(input.length()));
+    assertThrows(IndexOutOfBoundsException.class, () -> cs.charAt(-1));
+  }
+
+  @Test
+  void testSubSequence_equalsRunsOfSubstring() {
+    String input = "aaabccccddddde";
+    CompressedString cs = CompressedString.of(input);
+    for (int start = 0; start <= input.length(); start++) {
+      for (int end = start; end <= input.length(); end++) {
+        CompressedString sub = cs.subSequence(start, end);
+        assertEquals(input.substring(start, end), sub.toString());
+        assertEquals(CompressedString.of(input.substring(start, end)), sub);
+      }
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> cs.subSequence(3, 2));
+  }
+
+  /**
+   * hashCode equals the hash of the inflated string, also for long runs.
+   */
+  @Test
+  void testHashCode_matchesStringHashCode() {
+    String[] inputs = {"", "a", "aabcccccaaa", "z".repeat(100_003), RunData.runs(5000, 30, 8)};
+    for (String input : inputs) {
+      assertEquals(input.hashCode(), CompressedString.of(input).hashCode());
+    }
+  }
+
+  @Test
+  void testEquals() {
+    CompressedString cs = CompressedString.of("aabb");
+    assertEquals(cs, CompressedString.of(new StringBuilder("aabb")));
+    assertNotEquals(cs, CompressedString.of("aab"));
+    assertNotEquals(cs, CompressedString.of("abbb"));
+    assertFalse(cs.equals("aabb"));
+  }
+
+  @Test
+  void testIsPermutation_agreesWithStringVersion() {
+    String[][] pairs = {{"cat", "act"}, {"abcdd", "bddae"}, {"aaabbb", "ababab"}, {"aaab", "abbb"}, {"", ""}, {"ab", "abb"}};
+    for (String[] pair : pairs) {
+      assertEquals(su.isPermutation(pair[0], pair[1]),
+          su.isPermutation(su.compressToRuns(pair[0]), su.compressToRuns(pair[1])), pair[0] + " " + pair[1]);
+    }
+  }
+
+  @Test
+  void testIsPermutationOfPalindrome_agreesWithStringVersion() {
+    String[] inputs = {"", "F", "BAA", "abc", "aaabbbb", "Tact Coa", "aAbB", "xxxxxxxxxxxxxxxxy", "ab1ba2"};
+    for (String input : inputs) {
+      assertEquals(su.isPermutationOfPalindrome(input), su.isPermutationOfPalindrome(su.compressToRuns(input)), input);
+    }
+  }
+
+  @Test
+  void testOf_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> su.compressToRuns(null));
+  }
+}
@@ -0,0 +1,87 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IncrementalSudoku. After every move the maintained state is compared with
+ * SudokuFixed.isValidSudoku on the same cells and with a scan of the row, column and box.
+ */
+class IncrementalSudokuTest {
+
+    /* True if no cell but (row, col) in its row, column or box holds digit. */
+    private static boolean scanCanPlace(char[][] board, int row, int col, int digit) {
+        char c = (char) ('0' + digit);
+        for (int k = 0; k < 9; k++) {
+            if (k != col && board[row][k] == c || k != row && board[k][col] == c) {
+                return false;
+            }
+            int r = row / 3 * 3 + k / 3;
+            int cc = col / 3 * 3 + k % 3;
+            if ((r != row || cc != col) && board[r][cc] == c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void testRandomMoves_agreeWithSudokuFixed() {
+        Random random = new Random(43);
+        IncrementalSudoku sudoku = new IncrementalSudoku();
+        int invalid = 0;
+        for (int move = 0; move < 20_000; move++) {
+            int row = random.nextInt(9);
+            int col = random.nextInt(9);
+            if (random.nextInt(3) == 0) {
+                sudoku.clear(row, col);
+            } else {
+                sudoku.place(row, col, 1 + random.nextInt(9));
+            }
+            char[][] board = sudoku.toCharArray();
+            boolean expected = SudokuFixed.isValidSudoku(board);
+            assertEquals(expected, sudoku.isValid());
+            invalid += expected ? 0 : 1;
+            int r = random.nextInt(9);
+            int c = random.nextInt(9);
+            int d = 1 + random.nextInt(9);
+            assertEquals(scanCanPlace(board, r, c, d), sudoku.canPlace(r, c, d));
+            int candidates = sudoku.candidates(r, c);
+            if (board[r][c] == '.') {
+                for (int digit = 1; digit <= 9; digit++) {
+                    assertEquals(scanCanPlace(board, r, c, digit), (candidates & 1 << (digit - 1)) != 0);
+                }
+            } else {
+                assertEquals(0, candidates);
+            }
+        }
+        assertTrue(invalid > 1000);
+    }
+
+    @Test
+    void testOf_invalidBoardBecomesValidAfterClear() {
+        char[][] board = SudokuData.toBoard(SudokuData.SOLVED);
+        board[0][1] = board[0][0];
+        IncrementalSudoku sudoku = IncrementalSudoku.of(board);
+        assertFalse(sudoku.isValid());
+        assertEquals(81, sudoku.filled());
+        assertTrue(sudoku.canPlace(0, 1, SudokuData.SOLVED.charAt(1) - '0'));
+        sudoku.clear(0, 1);
+        assertTrue(sudoku.isValid());
+        assertEquals(80, sudoku.filled());
+        sudoku.place(0, 1, SudokuData.SOLVED.charAt(1) - '0');
+        assertEquals(SudokuData.SOLVED, sudoku.toString());
+    }
+
+    @Test
+    void testPlace_badArguments_throw() {
+        IncrementalSudoku sudoku = new IncrementalSudoku();
+        assertThrows(IllegalArgumentException.class, () -> sudoku.place(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> sudoku.canPlace(0, 0, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> sudoku.clear(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> IncrementalSudoku.of(new char[3][9]));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IndexedRle. Every char and a range of substrings are read through the index and
+ * compared with the original string.
+ */
+class IndexedRleTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  private static void assertReadsLike(String input, IndexedRle indexed) {
+    assertEquals(input.length(), indexed.length());
+    for (int n = 0; n < input.length(); n++) {
+      assertEquals(input.charAt(n), indexed.charAt(n), "index " + n);
+    }
+    for (int begin = 0; begin < input.length(); begin += 7) {
+      for (int end = begin; end <= input.length(); end += 13) {
+        assertEquals(input.substring(begin, end), indexed.substring(begin, end));
+      }
+    }
+  }
+
+  @Test
+  void testCompress_compressedFormMatchesStringUtilsFixed() {
+    for (String input : new String[] {"", "a", "ab", "aabcccccaaa", RunData.runs(2000, 5, 1)}) {
+      IndexedRle indexed = IndexedRle.compress(input);
+      assertEquals(reference.compress(input), indexed.compressed());
+      assertEquals(!reference.compress(input).equals(input), indexed.isCompressed());
+    }
+  }
+
+  @Test
+  void testCharAtAndSubstring_everySamplingInterval() {
+    String input = RunData.runs(3000, 6, 9);
+    for (int k : new int[] {1, 2, 5, 16, 1000}) {
+      IndexedRle indexed = IndexedRle.compress(input, k);
+      assertTrue(indexed.isCompressed());
+      assertReadsLike(input, indexed);
+    }
+  }
+
+  /**
+   * Runs of digits: "1111122222333" compresses to "152533", which cannot be split into runs
+   * without the run-start marks.
+   */
+  @Test
+  void testCharAt_runsOfDigits() {
+    String input = "1111122222333" + "7".repeat(15) + "0".repeat(11) + "x";
+    IndexedRle indexed = IndexedRle.compress(input, 2);
+    assertEquals("152533715011x1", indexed.compressed());
+    assertReadsLike(input, indexed);
+  }
+
+  @Test
+  void testCharAt_uncompressedInputReadsOriginal() {
+    IndexedRle indexed = IndexedRle.compress("abcdef");
+    assertFalse(indexed.isCompressed());
+    assertEquals(0, indexed.runCount());
+    assertReadsLike("abcdef", indexed);
+  }
+
+  @Test
+  void testCharAt_outOfBounds() {
+    IndexedRle indexed = IndexedRle.compress("aaaaaab");
+    assertThrows(IndexOutOfBoundsException.class, () -> indexed.charAt(7));
+    assertThrows(IndexOutOfBoundsException.class, () -> indexed.charAt(-1));
+    assertThrows(IndexOutOfBoundsException.class, () -> indexed.substring(3, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> indexed.substring(0, 8));
+  }
+
+  @Test
+  void testCompress_invalidInterval_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> IndexedRle.compress("aaa", 0));
+  }
+}
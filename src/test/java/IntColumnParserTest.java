@@ -0,0 +1,154 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for IntColumnParser. Every field is checked against NumberParser on the same text.
+ */
+class IntColumnParserTest {
+
+  private final IntColumnParser parser = new IntColumnParser(',');
+  private final List<String> bad = new ArrayList<>();
+
+  private IntColumnParser.BadFieldHandler recorder() {
+    return (row, column, status) -> bad.add(row + ":" + column + ":" + status);
+  }
+
+  private static ByteBuffer ascii(String s) {
+    return ByteBuffer.wrap(s.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  void testIsEightDigits_andEightDigits() {
+    long word = ascii("12345678").order(ByteOrder.LITTLE_ENDIAN).getLong(0);
+    assertTrue(IntColumnParser.isEightDigits(word));
+    assertEquals(12345678, IntColumnParser.eightDigits(word));
+    for (String s : new String[] {"1234567/", "1234567:", "12 45678", "-2345678", "¹¹¹¹¹¹¹¹"}) {
+      byte[] b = s.getBytes(StandardCharsets.ISO_8859_1);
+      assertFalse(IntColumnParser.isEightDigits(ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getLong(0)), s);
+    }
+  }
+
+  @Test
+  void testParse_rowsAndBadFields() {
+    int[] dst = new int[16];
+    ByteBuffer src = ascii("1,-2, 3\r\n12345678901,x7,\n-99999999999,4 ,+\n9");
+    int n = parser.parse(src, dst, 0, recorder());
+    assertEquals(10, n);
+    assertArrayEquals(new int[] {1, -2, 3, Integer.MAX_VALUE, 0, 0, Integer.MIN_VALUE, 0, 0, 9},
+        Arrays.copyOf(dst, n));
+    assertEquals(List.of("1:0:2", "1:1:1", "2:0:2", "2:1:1"), bad);
+    assertFalse(src.hasRemaining());
+  }
+
+  /**
+   * A small destination stops the parse after a field; the next call continues with the next one.
+   */
+  @Test
+  void testParse_inBatches() {
+    ByteBuffer src = ascii("10,20,30\n40,50");
+    long[] dst = new long[2];
+    List<Long> all = new ArrayList<>();
+    int n;
+    while ((n = parser.parse(src, dst, 0, recorder())) > 0) {
+      for (int k = 0; k < n; k++) {
+        all.add(dst[k]);
+      }
+    }
+    assertEquals(List.of(10L, 20L, 30L, 40L, 50L), all);
+    assertTrue(bad.isEmpty());
+  }
+
+  /**
+   * The magnitude of a negative long field reaches 2^63 at Long.MIN_VALUE; a digit past it must
+   * clamp and be reported, not wrap around.
+   */
+  @Test
+  void testParse_longPastMinValue_clampsAndReports() {
+    long[] dst = new long[5];
+    ByteBuffer src = ascii("-9223372036854775808,-92233720368547758089,-922337203685477580800000000,"
+        + "-92233720368547758082147483647,92233720368547758080\n");
+    assertEquals(5, parser.parse(src, dst, 0, recorder()));
+    assertArrayEquals(new long[] {Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE},
+        dst);
+    assertEquals(List.of("0:1:2", "0:2:2", "0:3:2", "0:4:2"), bad);
+  }
+
+  @Test
+  void testParse_agreesWithNumberParserOnRandomFields() {
+    Random random = new Random(19);
+    NumberParser reference = new NumberParser();
+    String[] pieces = {"0", "7", "12345678", "99999999", "-", "+", " ", "x", "2147483648", "9223372036854775807",
+        "9223372036854775808", "00000000000000000000001"};
+    for (int round = 0; round < 2000; round++) {
+      List<String> fields = new ArrayList<>();
+      List<String> positions = new ArrayList<>();
+      StringBuilder text = new StringBuilder();
+      int count = 1 + random.nextInt(6);
+      int row = 0;
+      int column = 0;
+      for (int f = 0; f < count; f++) {
+        StringBuilder field = new StringBuilder();
+        for (int k = random.nextInt(4); k > 0; k--) {
+          field.append(pieces[random.nextInt(pieces.length)]);
+        }
+        fields.add(field.toString());
+        positions.add(row + ":" + column);
+        boolean sameRow = f < count - 1 && random.nextBoolean();
+        text.append(field).append(f == count - 1 ? "\n" : sameRow ? "," : "\r\n");
+        row += sameRow ? 0 : 1;
+        column = sameRow ? column + 1 : 0;
+      }
+      int[] ints = new int[count];
+      long[] longs = new long[count];
+      List<String> intsBad = new ArrayList<>();
+      List<String> longsBad = new ArrayList<>();
+      for (int f = 0; f < count; f++) {
+        String field = fields.get(f);
+        ints[f] = reference.parseInt(field, 0, field.length());
+        if (reference.status() != NumberParser.OK) {
+          intsBad.add(positions.get(f) + ":" + reference.status());
+        }
+        longs[f] = reference.parseLongSaturating(field, 0, field.length());
+        if (reference.status() != NumberParser.OK) {
+          longsBad.add(positions.get(f) + ":" + reference.status());
+        }
+      }
+      int[] intsParsed = new int[count];
+      long[] longsParsed = new long[count];
+      assertEquals(count, parser.parse(ascii(text.toString()), intsParsed, 0, recorder()));
+      assertArrayEquals(ints, intsParsed, text.toString());
+      assertEquals(intsBad, bad, text.toString());
+      bad.clear();
+      assertEquals(count, parser.parse(ascii(text.toString()), longsParsed, 0, recorder()));
+      assertArrayEquals(longs, longsParsed, text.toString());
+      assertEquals(longsBad, bad, text.toString());
+      bad.clear();
+    }
+  }
+
+  @Test
+  void testParse_directBuffer() {
+    ByteBuffer src = ByteBuffer.allocateDirect(64);
+    src.put("123456789012;-42;".getBytes(StandardCharsets.US_ASCII)).flip();
+    long[] dst = new long[4];
+    assertEquals(2, new IntColumnParser(';').parse(src, dst, 1, recorder()));
+    assertArrayEquals(new long[] {0, 123456789012L, -42, 0}, dst);
+  }
+
+  @Test
+  void testConstructor_digitDelimiter_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new IntColumnParser('5'));
+    assertThrows(IllegalArgumentException.class, () -> new IntColumnParser('\n'));
+  }
+}
@@ -0,0 +1,131 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for NumberParser. Every input is parsed from the middle of a larger buffer, through
+ * all three source types, and compared with StringUtilsFixed.stringToInteger.
+ */
+class NumberParserTest {
+
+  private NumberParser parser;
+  private StringUtilsFixed su;
+
+  @BeforeEach
+  void setUp() {
+    parser = new NumberParser();
+    su = new StringUtilsFixed();
+  }
+
+  /* Parses input embedded between junk through every overload; they must agree on value and status. */
+  private int parseInt(String input) {
+    String padded = "x9" + input + "7y";
+    int value = parser.parseInt(padded, 2, input.length());
+    int status = parser.status();
+    assertEquals(value, parser.parseInt(padded.toCharArray(), 2, input.length()));
+    assertEquals(status, parser.status());
+    assertEquals(value, parser.parseInt(padded.getBytes(StandardCharsets.ISO_8859_1), 2, input.length()));
+    assertEquals(status, parser.status());
+    return value;
+  }
+
+  private long parseLong(String input, boolean saturating) {
+    String padded = "x9" + input + "7y";
+    char[] chars = padded.toCharArray();
+    byte[] bytes = padded.getBytes(StandardCharsets.ISO_8859_1);
+    long value;
+    if (saturating) {
+      value = parser.parseLongSaturating(padded, 2, input.length());
+      int status = parser.status();
+      assertEquals(value, parser.parseLongSaturating(chars, 2, input.length()));
+      assertEquals(value, parser.parseLongSaturating(bytes, 2, input.length()));
+      assertEquals(status, parser.status());
+    } else {
+      value = parser.parseLong(padded, 2, input.length());
+      int status = parser.status();
+      assertEquals(value, parser.parseLong(chars, 2, input.length()));
+      assertEquals(value, parser.parseLong(bytes, 2, input.length()));
+      assertEquals(status, parser.status());
+    }
+    return value;
+  }
+
+  @Test
+  void testParseInt_agreesWithStringUtilsFixed() {
+    for (String input : new String[] {"", "   ", "+", "-", "0", "42", "  42", "+42", "-42", "007", "2147483647",
+        "-2147483648", "2147483648", "99999999999999999999"}) {
+      assertEquals(su.stringToInteger(input), parseInt(input), input);
+      assertEquals(input.contains("99999") || input.equals("2147483648") ? NumberParser.OVERFLOW : NumberParser.OK,
+          parser.status(), input);
+    }
+  }
+
+  /**
+   * StringUtilsFixed wraps around on negative overflow; NumberParser clamps, as its javadoc says.
+   */
+  @Test
+  void testParseInt_negativeOverflow_clampsToMinValue() {
+    assertEquals(Integer.MIN_VALUE, parseInt("-2147483649"));
+    assertEquals(NumberParser.OVERFLOW, parser.status());
+    assertEquals(Integer.MIN_VALUE, parseInt("-99999999999999999999"));
+  }
+
+  @Test
+  void testParseInt_invalidInput_returnsZeroWithStatus() {
+    for (String input : new String[] {"4 2", "42 ", "--1", "+-1", "1-", "abc", "99999999999999999999x", "١٢"}) {
+      assertThrows(NumberFormatException.class, () -> su.stringToInteger(input), input);
+      assertEquals(0, parseInt(input), input);
+      assertEquals(NumberParser.INVALID, parser.status(), input);
+    }
+  }
+
+  @Test
+  void testParseLong_strictAndSaturating() {
+    assertEquals(Long.MAX_VALUE, parseLong("9223372036854775807", false));
+    assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775808", false));
+    assertEquals(NumberParser.OK, parser.status());
+    assertEquals(0, parseLong("9223372036854775808", false));
+    assertEquals(NumberParser.OVERFLOW, parser.status());
+    assertEquals(Long.MAX_VALUE, parseLong("9223372036854775808", true));
+    assertEquals(NumberParser.OVERFLOW, parser.status());
+    assertEquals(Long.MIN_VALUE, parseLong("-9223372036854775809", true));
+    assertEquals(-12345678901L, parseLong(" -12345678901", true));
+    assertEquals(NumberParser.OK, parser.status());
+    assertEquals(0, parseLong("1e3", true));
+    assertEquals(NumberParser.INVALID, parser.status());
+  }
+
+  @Test
+  void testStringToInteger_agreesWithStringUtilsFixed() {
+    for (String input : new String[] {"", "   ", "+", "-", "0", "42", "  -42", "+007", "2147483647", "-2147483648",
+        "2147483648", "99999999999999999999"}) {
+      assertEquals(su.stringToInteger(input), NumberParser.stringToInteger(input), input);
+    }
+    for (String input : new String[] {"4 2", "42 ", "--1", "1-", "99999999999999999999x"}) {
+      assertThrows(NumberFormatException.class, () -> NumberParser.stringToInteger(input), input);
+    }
+  }
+
+  @Test
+  void testStringToInteger_negativeOverflow_clampsToMinValue() {
+    assertEquals(Integer.MIN_VALUE, NumberParser.stringToInteger("-2147483649"));
+    assertEquals(Integer.MIN_VALUE, NumberParser.stringToInteger("-99999999999999999999"));
+    assertThrows(NullPointerException.class, () -> NumberParser.stringToInteger(null));
+  }
+
+  @Test
+  void testParseInt_rangeOutsideInput_throwsIndexOutOfBoundsException() {
+    assertThrows(IndexOutOfBoundsException.class, () -> parser.parseInt("123", 2, 2));
+    assertThrows(IndexOutOfBoundsException.class, () -> parser.parseLong(new byte[3], -1, 1));
+  }
+
+  @Test
+  void testParseInt_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> parser.parseInt((CharSequence) null, 0, 0));
+  }
+}
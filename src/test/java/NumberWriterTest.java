@@ -0,0 +1,81 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for NumberWriter. Every result is compared with Long.toString, and written numbers are
+ * parsed back with NumberParser.
+ */
+class NumberWriterTest {
+
+  private static final long[] EDGES = {0, 1, -1, 9, 10, -10, 99, 100, -100, Integer.MAX_VALUE, Integer.MIN_VALUE,
+      999_999_999_999_999_999L, 1_000_000_000_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1};
+
+  private static void assertWrites(long value) {
+    String expected = Long.toString(value);
+    assertEquals(expected.length(), NumberWriter.length(value), expected);
+
+    byte[] array = new byte[NumberWriter.MAX_LENGTH + 3];
+    assertEquals(expected.length(), NumberWriter.write(value, array, 3));
+    assertEquals(expected, new String(array, 3, expected.length(), StandardCharsets.US_ASCII));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(NumberWriter.MAX_LENGTH + 1);
+    direct.put((byte) 'x');
+    NumberWriter.write(value, direct);
+    direct.flip().get();
+    assertEquals(expected, StandardCharsets.US_ASCII.decode(direct).toString());
+
+    CharBuffer chars = CharBuffer.allocate(NumberWriter.MAX_LENGTH);
+    assertEquals(expected.length(), NumberWriter.write(value, chars));
+    assertEquals(expected, chars.flip().toString());
+  }
+
+  @Test
+  void testWrite_matchesLongToString() {
+    for (long value : EDGES) {
+      assertWrites(value);
+    }
+    Random random = new Random(29);
+    for (int i = 0; i < 10_000; i++) {
+      assertWrites(random.nextLong() >> random.nextInt(64));
+    }
+  }
+
+  /**
+   * Numbers written one after another into a shared buffer parse back to themselves.
+   */
+  @Test
+  void testWrite_intsBackToBack_roundTripThroughNumberParser() {
+    int[] values = {0, 7, -42, 123456, Integer.MAX_VALUE, Integer.MIN_VALUE};
+    ByteBuffer out = ByteBuffer.allocate(128);
+    int[] lengths = new int[values.length];
+    for (int i = 0; i < values.length; i++) {
+      lengths[i] = NumberWriter.write(values[i], out);
+    }
+    NumberParser parser = new NumberParser();
+    int off = 0;
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(values[i], parser.parseInt(out.array(), off, lengths[i]));
+      assertEquals(NumberParser.OK, parser.status());
+      off += lengths[i];
+    }
+    assertEquals(off, out.position());
+  }
+
+  @Test
+  void testWrite_noRoom_throwsAndLeavesPosition() {
+    ByteBuffer small = ByteBuffer.allocate(3);
+    assertThrows(BufferOverflowException.class, () -> NumberWriter.write(-1000, small));
+    assertEquals(0, small.position());
+    assertThrows(BufferOverflowException.class, () -> NumberWriter.write(1000, CharBuffer.allocate(3)));
+    assertThrows(IndexOutOfBoundsException.class, () -> NumberWriter.write(1000, new byte[5], 2));
+  }
+}
@@ -0,0 +1,111 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PalindromeLineScanner. The expected lines are found by calling
+ * StringUtilsFixed.isPermutationOfPalindrome on every line of the decoded file.
+ */
+class PalindromeLineScannerTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = Files.createTempFile("palindrome-lines", ".txt");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  /* Bit i is set when line i of text matches; offsets are in bytes of the encoded text. */
+  private void assertScans(String text, Charset charset, int chunkSize) throws IOException {
+    Files.writeString(file, text, charset);
+    BitSet expectedLines = new BitSet();
+    List<Long> expectedOffsets = new ArrayList<>();
+    String[] lines = text.split("\n", -1);
+    // a terminator at the end of the file does not start another line
+    int lineCount = lines[lines.length - 1].isEmpty() ? lines.length - 1 : lines.length;
+    long offset = 0;
+    for (int i = 0; i < lineCount; i++) {
+      if (reference.isPermutationOfPalindrome(lines[i])) {
+        expectedLines.set(i);
+        expectedOffsets.add(offset);
+      }
+      offset += lines[i].getBytes(charset).length + 1;
+    }
+    PalindromeLineScanner scanner = new PalindromeLineScanner(ForkJoinPool.commonPool(), chunkSize, charset);
+    assertEquals(expectedLines, scanner.lines(file), text);
+    assertArrayEquals(expectedOffsets.stream().mapToLong(Long::longValue).toArray(), scanner.offsets(file));
+    assertEquals(expectedLines.cardinality(), scanner.count(file));
+  }
+
+  @Test
+  void testScan_lineEndings() throws IOException {
+    for (int chunkSize : new int[] {1, 3, 64}) {
+      assertScans("", StandardCharsets.UTF_8, chunkSize);
+      assertScans("\n", StandardCharsets.UTF_8, chunkSize);
+      assertScans("tact coa\nabc\n\naab", StandardCharsets.UTF_8, chunkSize);
+      assertScans("tact coa\r\nabc\r\naab\r\n", StandardCharsets.UTF_8, chunkSize);
+    }
+  }
+
+  /**
+   * Fullwidth letters and roman numerals only count as letters when UTF-8 is decoded.
+   */
+  @Test
+  void testScan_utf8LettersOutsideAscii() throws IOException {
+    assertScans("Ａａ\nⅫcⅫ\nＡｂ\nééx\n😀😀ab\nab😀ba\n", StandardCharsets.UTF_8, 5);
+  }
+
+  @Test
+  void testScan_latin1() throws IOException {
+    assertScans("éaé\nabc\nÿÿ", StandardCharsets.ISO_8859_1, 2);
+  }
+
+  @Test
+  void testScan_randomLinesAcrossManyChunks() throws IOException {
+    Random random = new Random(13);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 2000; i++) {
+      int len = random.nextInt(9);
+      for (int k = 0; k < len; k++) {
+        text.append("abcAB Ｃ,".charAt(random.nextInt(8)));
+      }
+      text.append('\n');
+    }
+    assertScans(text.toString(), StandardCharsets.UTF_8, 97);
+  }
+
+  @Test
+  void testConstructor_unsupportedCharset_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new PalindromeLineScanner(ForkJoinPool.commonPool(), 16, StandardCharsets.UTF_16));
+    assertThrows(IllegalArgumentException.class,
+        () -> new PalindromeLineScanner(ForkJoinPool.commonPool(), 0, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testCount_missingFile_throwsIOException() throws IOException {
+    Files.delete(file);
+    assertThrows(IOException.class, () -> new PalindromeLineScanner().count(file));
+  }
+}
@@ -0,0 +1,63 @@
+package org.example;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * StringUtilsFixed.isPermutationOfPalindrome, which calls Character.getNumericValue per char,
+ * against the table-driven PalindromePermutation on mixed-case text with spaces and punctuation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PalindromePermutationBenchmark {
+
+  @Param({"16", "256", "4096"})
+  int length;
+
+  private final StringUtilsFixed su = new StringUtilsFixed();
+  private String input;
+
+  @Setup
+  public void setUp() {
+    String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ ,.";
+    Random random = new Random(23);
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+    input = new String(chars);
+  }
+
+  @Benchmark
+  public boolean stringUtilsFixed() {
+    return su.isPermutationOfPalindrome(input);
+  }
+
+  @Benchmark
+  public boolean table() {
+    return PalindromePermutation.isPermutationOfPalindrome(input);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PalindromePermutationBenchmark.class.getSimpleName()).build()).run();
+  }
+}
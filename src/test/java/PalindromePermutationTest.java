@@ -0,0 +1,68 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PalindromePermutation. StringUtilsFixed.isPermutationOfPalindrome is the
+ * reference for every result.
+ */
+class PalindromePermutationTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  /**
+   * The table must map every char exactly as getCharNumber does with Character.getNumericValue.
+   */
+  @Test
+  void testLetterIndex_matchesGetNumericValueForEveryChar() {
+    int a = Character.getNumericValue('a');
+    for (int c = 0; c <= Character.MAX_VALUE; c++) {
+      int val = Character.getNumericValue((char) c);
+      int expected = a <= val && val <= a + 25 ? val - a : -1;
+      assertEquals(expected, PalindromePermutation.letterIndex((char) c), "char " + c);
+    }
+  }
+
+  @Test
+  void testIsPermutationOfPalindrome_examples() {
+    for (String input : new String[] {"", "a", "abc", "tact coa", "Tact Coa", "aabbc", "aabbcd", "a1b2a", "ⅫcⅫ",
+        "Ａａ", "abAB", "ab😀ba"}) {
+      assertEquals(reference.isPermutationOfPalindrome(input), PalindromePermutation.isPermutationOfPalindrome(input),
+          input);
+    }
+  }
+
+  @Test
+  void testIsPermutationOfPalindrome_agreesWithStringUtilsFixedOnRandomInput() {
+    Random random = new Random(11);
+    String alphabet = "abcAB ,.1Ⅻｃ日";
+    for (int round = 0; round < 2000; round++) {
+      char[] chars = new char[random.nextInt(12)];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+      }
+      String input = new String(chars);
+      assertEquals(reference.isPermutationOfPalindrome(input), PalindromePermutation.isPermutationOfPalindrome(input),
+          input);
+      char[] padded = ("xy" + input + "z").toCharArray();
+      assertEquals(reference.isPermutationOfPalindrome(input),
+          PalindromePermutation.isPermutationOfPalindrome(padded, 2, chars.length), input);
+    }
+  }
+
+  @Test
+  void testIsPermutationOfPalindrome_rangeOutsideArray_throwsIndexOutOfBoundsException() {
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> PalindromePermutation.isPermutationOfPalindrome(new char[3], 2, 2));
+  }
+
+  @Test
+  void testIsPermutationOfPalindrome_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class,
+        () -> PalindromePermutation.isPermutationOfPalindrome((CharSequence) null));
+  }
+}
@@ -0,0 +1,82 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PalindromeSubstrings. The expected substrings come from calling
+ * StringUtilsFixed.isPermutationOfPalindrome on every substring.
+ */
+class PalindromeSubstringsTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  private Set<List<Integer>> naive(String str) {
+    Set<List<Integer>> found = new HashSet<>();
+    for (int start = 0; start < str.length(); start++) {
+      for (int end = start + 1; end <= str.length(); end++) {
+        if (reference.isPermutationOfPalindrome(str.substring(start, end))) {
+          found.add(List.of(start, end));
+        }
+      }
+    }
+    return found;
+  }
+
+  @Test
+  void testCount_examples() {
+    assertEquals(0, PalindromeSubstrings.count(""));
+    assertEquals(1, PalindromeSubstrings.count("a"));
+    // a, b, a, aba, and neither ab nor ba
+    assertEquals(4, PalindromeSubstrings.count("aba"));
+    // every substring of a single letter repeated
+    assertEquals(10, PalindromeSubstrings.count("aaaa"));
+  }
+
+  @Test
+  void testForEachMatch_agreesWithIsPermutationOfPalindrome() {
+    Random random = new Random(7);
+    for (int round = 0; round < 200; round++) {
+      char[] chars = new char[random.nextInt(25)];
+      for (int i = 0; i < chars.length; i++) {
+        chars[i] = "abcA 1Ⅻ".charAt(random.nextInt(7));
+      }
+      String str = new String(chars);
+      Set<List<Integer>> expected = naive(str);
+      List<List<Integer>> actual = new ArrayList<>();
+      long count = PalindromeSubstrings.forEachMatch(str, (start, end) -> actual.add(List.of(start, end)));
+      assertEquals(expected.size(), actual.size(), str);
+      assertEquals(expected, new HashSet<>(actual), str);
+      assertEquals(expected.size(), count);
+      assertEquals(expected.size(), PalindromeSubstrings.count(str));
+    }
+  }
+
+  /**
+   * Appending piece by piece counts the substrings that span the pieces as well.
+   */
+  @Test
+  void testAppend_streamingMatchesWholeString() throws IOException {
+    String text = "tact coa, racecar; Ａａ " + "abcab".repeat(2000);
+    PalindromeSubstrings streaming = new PalindromeSubstrings();
+    streaming.append(text.substring(0, 10));
+    streaming.append(text.charAt(10));
+    streaming.append(new StringReader(text.substring(11)));
+    assertEquals(text.length(), streaming.length());
+    assertEquals(PalindromeSubstrings.count(text), streaming.count());
+  }
+
+  @Test
+  void testCount_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> PalindromeSubstrings.count(null));
+  }
+}
@@ -0,0 +1,53 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for ParallelRleCompressor. Tiny chunk sizes make runs cross one or many seams.
+ */
+class ParallelRleCompressorTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  @Test
+  void testCompress_matchesStringUtilsFixedForEveryChunkSize() {
+    String[] inputs = {"", "a", "ab", "aabcccccaaa", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaab",
+        "abbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbba", RunData.runs(10_000, 1, 1),
+        RunData.runs(10_000, 5, 2), RunData.runs(10_000, 400, 3)};
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int chunkSize : new int[] {1, 2, 3, 16, 1000, 1 << 20}) {
+        ParallelRleCompressor compressor = new ParallelRleCompressor(pool, chunkSize);
+        for (String input : inputs) {
+          assertEquals(reference.compress(input), compressor.compress(input), "chunk size " + chunkSize);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * One run spanning every chunk must come out as a single run with the total count.
+   */
+  @Test
+  void testCompress_runAcrossAllSeams() {
+    ParallelRleCompressor compressor = new ParallelRleCompressor(ForkJoinPool.commonPool(), 7);
+    assertEquals("z1000", compressor.compress("z".repeat(1000)));
+  }
+
+  @Test
+  void testConstructor_invalidArguments() {
+    assertThrows(NullPointerException.class, () -> new ParallelRleCompressor(null, 10));
+    assertThrows(IllegalArgumentException.class, () -> new ParallelRleCompressor(ForkJoinPool.commonPool(), 0));
+  }
+
+  @Test
+  void testCompress_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> new ParallelRleCompressor().compress(null));
+  }
+}
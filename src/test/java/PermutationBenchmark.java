@@ -0,0 +1,98 @@
+package org.example;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Permutation checks on permuted pairs: StringUtilsFixed.isPermutation (ASCII only),
+ * Permutations.isPermutation, and the HashMap-based check it replaces. The unicode inputs mix in
+ * CJK chars, which StringUtilsFixed cannot handle, so its score is only meaningful for ascii.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermutationBenchmark {
+
+  @Param({"8", "64", "1024"})
+  int length;
+
+  @Param({"ascii", "unicode"})
+  String alphabet;
+
+  private final StringUtilsFixed su = new StringUtilsFixed();
+  private String first;
+  private String second;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(17);
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = alphabet.equals("ascii") || random.nextBoolean()
+          ? (char) ('a' + random.nextInt(26)) : (char) (0x4E00 + random.nextInt(200));
+    }
+    first = new String(chars);
+    for (int i = length - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      char t = chars[i];
+      chars[i] = chars[j];
+      chars[j] = t;
+    }
+    second = new String(chars);
+  }
+
+  static boolean hashMapIsPermutation(String str1, String str2) {
+    if (str1.length() != str2.length()) {
+      return false;
+    }
+    Map<Integer, Integer> counts = new HashMap<>();
+    str1.codePoints().forEach(cp -> counts.merge(cp, 1, Integer::sum));
+    for (int cp : str2.codePoints().toArray()) {
+      Integer n = counts.get(cp);
+      if (n == null || n == 0) {
+        return false;
+      }
+      counts.put(cp, n - 1);
+    }
+    return true;
+  }
+
+  @Benchmark
+  public boolean stringUtilsFixed() {
+    return alphabet.equals("ascii") && su.isPermutation(first, second);
+  }
+
+  @Benchmark
+  public boolean permutations() {
+    return Permutations.isPermutation(first, second);
+  }
+
+  @Benchmark
+  public boolean hashMap() {
+    return hashMapIsPermutation(first, second);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(PermutationBenchmark.class.getSimpleName()).build()).run();
+  }
+}
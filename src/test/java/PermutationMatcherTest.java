@@ -0,0 +1,109 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PermutationMatcher.
+ */
+class PermutationMatcherTest {
+
+  private static boolean sorted(String a, String b) {
+    char[] x = a.toCharArray();
+    char[] y = b.toCharArray();
+    Arrays.sort(x);
+    Arrays.sort(y);
+    return Arrays.equals(x, y);
+  }
+
+  @Test
+  void testMatches_examplesFromStringUtils() {
+    assertTrue(new PermutationMatcher("cat").matches("act"));
+    assertFalse(new PermutationMatcher("abcdd").matches("bddae"));
+    assertFalse(new PermutationMatcher("abc").matches("ab"));
+    assertTrue(new PermutationMatcher("").matches(""));
+  }
+
+  /**
+   * The same matcher is reused for many candidates, matching and not, so the scratch must be
+   * restored after every kind of rejection.
+   */
+  @Test
+  void testMatches_repeatedCandidatesAgreeWithSorting() {
+    Random random = new Random(5);
+    String reference = "aabbbcxyz";
+    PermutationMatcher matcher = new PermutationMatcher(reference);
+    for (int i = 0; i < 5000; i++) {
+      char[] chars = reference.toCharArray();
+      for (int k = chars.length - 1; k > 0; k--) {
+        int j = random.nextInt(k + 1);
+        char t = chars[k];
+        chars[k] = chars[j];
+        chars[j] = t;
+      }
+      if (random.nextBoolean()) {
+        chars[random.nextInt(chars.length)] = (char) ('a' + random.nextInt(26));
+      }
+      String candidate = new String(chars);
+      assertEquals(sorted(reference, candidate), matcher.matches(candidate), candidate);
+    }
+  }
+
+  @Test
+  void testMatches_charsOutsideLatin1() {
+    PermutationMatcher matcher = new PermutationMatcher("żółwż");
+    assertTrue(matcher.matches("łżżwó"));
+    assertFalse(matcher.matches("łżwwó"));
+    assertFalse(matcher.matches("łżżwo"));
+    assertFalse(matcher.matches("łżżwπ"));
+    assertTrue(matcher.matches("wżżół"));
+    assertFalse(new PermutationMatcher("abc").matches("abπ"));
+  }
+
+  @Test
+  void testMatches_withSignature() {
+    PermutationMatcher matcher = new PermutationMatcher("listen");
+    assertEquals(AnagramIndex.signature("silent"), matcher.signature());
+    assertTrue(matcher.matches("silent", AnagramIndex.signature("silent")));
+    assertFalse(matcher.matches("silent", AnagramIndex.signature("silenz")));
+  }
+
+  @Test
+  void testMatches_sharedAcrossThreads() throws Exception {
+    PermutationMatcher matcher = new PermutationMatcher("permutation");
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        results.add(executor.submit(() -> {
+          for (int i = 0; i < 20_000; i++) {
+            if (!matcher.matches("tationpermu") || matcher.matches("tationpermx")) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testMatches_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> new PermutationMatcher(null));
+    assertThrows(NullPointerException.class, () -> new PermutationMatcher("a").matches(null));
+  }
+}
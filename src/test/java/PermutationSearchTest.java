@@ -0,0 +1,97 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for PermutationSearch. The expected offsets come from calling
+ * StringUtilsFixed.isPermutation on every window.
+ */
+class PermutationSearchTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  private List<Integer> naive(String text, String pattern) {
+    List<Integer> offsets = new ArrayList<>();
+    for (int i = 0; i + pattern.length() <= text.length(); i++) {
+      if (reference.isPermutation(pattern, text.substring(i, i + pattern.length()))) {
+        offsets.add(i);
+      }
+    }
+    return offsets;
+  }
+
+  @Test
+  void testForEachMatch_findsOverlappingWindows() {
+    List<Integer> offsets = new ArrayList<>();
+    new PermutationSearch("ab").forEachMatch("abab", offsets::add);
+    assertEquals(List.of(0, 1, 2), offsets);
+  }
+
+  @Test
+  void testMatches_agreesWithIsPermutationOnEveryWindow() {
+    Random random = new Random(3);
+    for (int round = 0; round < 200; round++) {
+      String text = randomText(random, random.nextInt(60));
+      String pattern = randomText(random, 1 + random.nextInt(4));
+      List<Integer> expected = naive(text, pattern);
+      PermutationSearch search = new PermutationSearch(pattern);
+      assertEquals(expected, search.matches(text).boxed().toList(), text + " / " + pattern);
+      List<Integer> actual = new ArrayList<>();
+      search.forEachMatch(text, actual::add);
+      assertEquals(expected, actual);
+    }
+  }
+
+  /**
+   * A buffer boundary falls inside many windows when the text is longer than the read buffer.
+   */
+  @Test
+  void testForEachMatch_reader_agreesWithCharSequence() throws IOException {
+    Random random = new Random(5);
+    String text = randomText(random, 20_000);
+    PermutationSearch search = new PermutationSearch("abca");
+    List<Long> fromReader = new ArrayList<>();
+    long count = search.forEachMatch(new StringReader(text), fromReader::add);
+    List<Long> expected = search.matches(text).asLongStream().boxed().toList();
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, fromReader);
+    assertEquals(expected.size(), count);
+  }
+
+  @Test
+  void testMatches_charsAboveLatin1() {
+    assertArrayEquals(new int[] {1, 2}, new PermutationSearch("żó").matches("xóżóx").toArray());
+  }
+
+  @Test
+  void testMatches_textShorterThanPattern_findsNothing() {
+    assertEquals(0, new PermutationSearch("abc").matches("ab").count());
+  }
+
+  @Test
+  void testConstructor_emptyPattern_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new PermutationSearch(""));
+  }
+
+  @Test
+  void testMatches_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> new PermutationSearch(null));
+    assertThrows(NullPointerException.class, () -> new PermutationSearch("a").matches(null));
+  }
+
+  private static String randomText(Random random, int length) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(3));
+    }
+    return new String(chars);
+  }
+}
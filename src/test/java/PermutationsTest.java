@@ -0,0 +1,89 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for Permutations and the IntCounter behind it.
+ */
+class PermutationsTest {
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  @Test
+  void testIsPermutation_latin1AgreesWithStringUtilsFixed() {
+    String[][] pairs = {{"cat", "act"}, {"abcdd", "bddae"}, {"abccc", "abbbb"}, {"", ""}, {"ab", "abb"},
+        {"ÿé", "éÿ"}, {"ÿé", "éé"}};
+    for (String[] pair : pairs) {
+      assertEquals(reference.isPermutation(pair[0], pair[1]), Permutations.isPermutation(pair[0], pair[1]));
+    }
+  }
+
+  /**
+   * StringUtilsFixed throws on chars above 255; this version does not.
+   */
+  @Test
+  void testIsPermutation_charsAboveLatin1() {
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> reference.isPermutation("żółw", "wółż"));
+    assertTrue(Permutations.isPermutation("żółw", "wółż"));
+    assertFalse(Permutations.isPermutation("żółw", "wółw"));
+    assertFalse(Permutations.isPermutation("abcz", "abcż"));
+    assertFalse(Permutations.isPermutation("abcż", "abcz"));
+    assertTrue(Permutations.isPermutation("日本語", "語日本"));
+  }
+
+  /**
+   * Surrogate pairs stay together: swapping the halves of a pair is not a permutation of code
+   * points.
+   */
+  @Test
+  void testIsPermutation_supplementaryCodePoints() {
+    String grin = "😀";
+    String cat = "🐱";
+    assertTrue(Permutations.isPermutation(grin + "a" + cat, cat + grin + "a"));
+    assertFalse(Permutations.isPermutation(grin + cat, cat + cat));
+    String swapped = new String(new char[] {grin.charAt(1), grin.charAt(0)});
+    assertFalse(Permutations.isPermutation(grin, swapped));
+    assertTrue(Permutations.isPermutation(swapped, new String(new char[] {grin.charAt(1), grin.charAt(0)})));
+  }
+
+  /**
+   * Many distinct code points make the counter grow several times.
+   */
+  @Test
+  void testIsPermutation_manyDistinctCodePoints() {
+    StringBuilder forward = new StringBuilder();
+    StringBuilder backward = new StringBuilder();
+    for (int cp = 0x4E00; cp < 0x4E00 + 5000; cp++) {
+      forward.append((char) cp).append((char) cp);
+    }
+    for (int cp = 0x4E00 + 4999; cp >= 0x4E00; cp--) {
+      backward.append((char) cp).append((char) cp);
+    }
+    assertTrue(Permutations.isPermutation(forward, backward));
+    backward.setCharAt(0, 'x');
+    assertFalse(Permutations.isPermutation(forward, backward));
+  }
+
+  @Test
+  void testIntCounter_addGetAndClear() {
+    IntCounter counter = new IntCounter(2);
+    for (int key = 0; key < 1000; key++) {
+      counter.add(key * 7919, key);
+    }
+    assertEquals(1000, counter.size());
+    assertEquals(500, counter.get(500 * 7919));
+    assertEquals(0, counter.get(3));
+    assertEquals(-1, counter.add(3, -1));
+    counter.clear();
+    assertEquals(0, counter.size());
+    assertEquals(0, counter.get(500 * 7919));
+  }
+
+  @Test
+  void testIsPermutation_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> Permutations.isPermutation(null, "abc"));
+    assertThrows(NullPointerException.class, () -> Permutations.isPermutation("abc", null));
+  }
+}
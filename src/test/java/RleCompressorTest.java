@@ -0,0 +1,128 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RleCompressor and the run scanners behind it. Both scanners are checked
+ * explicitly, whichever one RunScanner.get() picks in this JVM.
+ */
+class RleCompressorTest {
+
+  private static final RunScanner[] SCANNERS = {new ScalarRunScanner(), RunScanner.get()};
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  /**
+   * Runs of every length up to a few vector widths, at every offset, followed by another char
+   * or by the end of the range.
+   */
+  @Test
+  void testRunEnd_allScanners_findFirstDifferentChar() {
+    for (RunScanner scanner : SCANNERS) {
+      for (int run = 1; run < 80; run++) {
+        for (int offset = 0; offset < 5; offset++) {
+          char[] a = new char[offset + run + 3];
+          java.util.Arrays.fill(a, 'x');
+          java.util.Arrays.fill(a, offset, offset + run, 'y');
+          assertEquals(offset + run, scanner.runEnd(a, offset, a.length), scanner + " run " + run);
+          assertEquals(offset + run, scanner.runEnd(a, offset, offset + run), scanner + " run " + run);
+        }
+      }
+    }
+  }
+
+  /**
+   * chars that differ only in the high byte must end a run.
+   */
+  @Test
+  void testRunEnd_highByteDifference() {
+    char[] a = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa".toCharArray();
+    a[37] = (char) ('a' + 0x100);
+    for (RunScanner scanner : SCANNERS) {
+      assertEquals(37, scanner.runEnd(a, 0, a.length));
+    }
+  }
+
+  @Test
+  void testCompress_matchesStringUtilsFixed() {
+    String[] inputs = {"", "a", "aa", "ab", "abb", "aabcccccaaa", "x".repeat(4096), "x".repeat(4097) + "y",
+        "y" + "x".repeat(10_000), RunData.runs(20_000, 1, 1), RunData.runs(20_000, 7, 2), RunData.runs(20_000, 3000, 3)};
+    for (RunScanner scanner : SCANNERS) {
+      RleCompressor compressor = new RleCompressor(scanner);
+      for (String input : inputs) {
+        assertEquals(reference.compress(input), compressor.compress(input));
+      }
+    }
+  }
+
+  /**
+   * compressedLength agrees with compress and reports NO_GAIN exactly when compress returns its
+   * input.
+   */
+  @Test
+  void testCompressedLength_matchesCompress() {
+    RleCompressor compressor = new RleCompressor();
+    String[] inputs = {"", "a", "aa", "aaa", "abb", "aabcccccaaa", RunData.runs(3000, 1, 4), RunData.runs(3000, 9, 5)};
+    for (String input : inputs) {
+      String expected = reference.compress(input);
+      int expectedLength = expected.equals(input) ? RleCompressor.NO_GAIN : expected.length();
+      assertEquals(expectedLength, compressor.compressedLength(input), input);
+      assertEquals(expectedLength, compressor.compressedLength(input.toCharArray(), 0, input.length()), input);
+    }
+  }
+
+  @Test
+  void testCompress_intoCallerArrays() {
+    RleCompressor compressor = new RleCompressor();
+    char[] dst = new char[20];
+    assertEquals(8, compressor.compress("aabcccccaaa", dst, 2));
+    assertEquals("a2b1c5a3", new String(dst, 2, 8));
+
+    char[] src = "--zzzzzzzzzzzzy--".toCharArray();
+    assertEquals(5, compressor.compress(src, 2, 13, dst, 0));
+    assertEquals("z12y1", new String(dst, 0, 5));
+
+    assertEquals(RleCompressor.NO_GAIN, compressor.compress("abcabc", dst, 0));
+    assertEquals(RleCompressor.NO_GAIN, compressor.compress(src, 0, 2, dst, 0));
+  }
+
+  /**
+   * A destination that cannot hold the compressed form is an error, not a silent truncation.
+   */
+  @Test
+  void testCompress_destinationTooSmall_throwsIndexOutOfBoundsException() {
+    RleCompressor compressor = new RleCompressor();
+    assertThrows(IndexOutOfBoundsException.class, () -> compressor.compress("aaaaaaaaab", new char[3], 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> compressor.compress("aaaaaaaaab".toCharArray(), 5, 6, new char[3], 0));
+  }
+
+  @Test
+  void testCompress_intoCharBuffers() {
+    RleCompressor compressor = new RleCompressor();
+    CharBuffer heap = CharBuffer.allocate(16);
+    heap.position(3);
+    assertEquals(8, compressor.compress("aabcccccaaa", heap));
+    assertEquals(11, heap.position());
+    assertEquals("a2b1c5a3", new String(heap.array(), 3, 8));
+
+    CharBuffer direct = ByteBuffer.allocateDirect(32).asCharBuffer();
+    assertEquals(5, compressor.compress("qqqqqqqqqqqqrrrrr", direct.position(1)));
+    direct.flip().position(1);
+    assertEquals("q12r5", direct.toString());
+
+    CharBuffer small = CharBuffer.allocate(16).limit(4);
+    assertThrows(IndexOutOfBoundsException.class, () -> compressor.compress("aabcccccaaa", small));
+    assertEquals(RleCompressor.NO_GAIN, compressor.compress("abc", heap));
+    assertEquals(11, heap.position());
+  }
+
+  @Test
+  void testCompress_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> new RleCompressor().compress(null));
+  }
+}
@@ -0,0 +1,106 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RleDecompressor. Every compressed input is produced by StringUtilsFixed.compress
+ * so that the round trip is checked against the reference encoder.
+ */
+class RleDecompressorTest {
+
+  private RleDecompressor rd;
+  private StringUtilsFixed su;
+
+  @BeforeEach
+  void setUp() {
+    rd = new RleDecompressor();
+    su = new StringUtilsFixed();
+  }
+
+  @Test
+  void testDecompress_roundTripsCompress() {
+    for (String input : new String[] {"aabcccccaaa", "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaab", "zzzzzzzzzzzzzzzzzzzzzz"}) {
+      String compressed = su.compress(input);
+      assertNotEquals(input, compressed);
+      assertEquals(input, rd.decompress(compressed));
+    }
+  }
+
+  @Test
+  void testDecodedLength_sumsCounts() {
+    assertEquals(11, rd.decodedLength("a2b1c5a3"));
+    assertEquals(0, rd.decodedLength(""));
+    assertEquals(1234567890123L, rd.decodedLength("x1234567890123"));
+  }
+
+  /**
+   * The byte buffer is measured and then decoded; its position must not move.
+   */
+  @Test
+  void testDecode_byteBuffer_intoExactlySizedCharBuffer() {
+    ByteBuffer src = ByteBuffer.wrap("a2b1c5a3".getBytes(StandardCharsets.US_ASCII));
+    CharBuffer dst = CharBuffer.allocate((int) rd.decodedLength(src));
+    assertEquals(0, src.position());
+    assertEquals(11, rd.decode(src, dst));
+    assertFalse(dst.hasRemaining());
+    assertEquals("aabcccccaaa", new String(dst.array()));
+  }
+
+  @Test
+  void testDecode_directCharBuffer() {
+    CharBuffer dst = ByteBuffer.allocateDirect(32).asCharBuffer();
+    assertEquals(6, rd.decode("q4r2", dst));
+    dst.flip();
+    assertEquals("qqqqrr", dst.toString());
+  }
+
+  @Test
+  void testDecode_tooSmallBuffer_throwsBufferOverflowException() {
+    assertThrows(BufferOverflowException.class, () -> rd.decode("a5", CharBuffer.allocate(4)));
+  }
+
+  @Test
+  void testDecode_mappedFileToChannel() throws IOException {
+    String input = "k" + "m".repeat(20_000) + "nn";
+    Path file = Files.createTempFile("rle-decode", ".rle");
+    try {
+      Files.writeString(file, su.compress(input), StandardCharsets.US_ASCII);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      assertEquals(input.length(), rd.decode(file, Channels.newChannel(out)));
+      assertEquals(input, out.toString(StandardCharsets.US_ASCII));
+
+      MappedByteBuffer mapped = rd.map(file);
+      assertEquals(input.length(), rd.decodedLength(mapped));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void testDecode_malformedInput_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> rd.decodedLength("ab2"));
+    assertThrows(IllegalArgumentException.class, () -> rd.decodedLength("a"));
+    assertThrows(IllegalArgumentException.class, () -> rd.decodedLength("a0"));
+    assertThrows(IllegalArgumentException.class, () -> rd.decodedLength("a012"));
+    assertThrows(IllegalArgumentException.class, () -> rd.decodedLength("a99999999999999999999"));
+  }
+
+  @Test
+  void testDecompress_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> rd.decompress(null));
+  }
+}
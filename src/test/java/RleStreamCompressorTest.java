@@ -0,0 +1,94 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for RleStreamCompressor. The expected output is always the one of
+ * StringUtilsFixed.compress on the whole input.
+ */
+class RleStreamCompressorTest {
+
+  private static final String[] INPUTS = {
+      "", "a", "aa", "ab", "abb", "aaa", "aabcccccaaa", "aaaaaaaaaaaaaaaaaaaaaaaabbbbbbbbbbbbbc",
+      "xyzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzz", "😀😀😀😀"
+  };
+
+  private final StringUtilsFixed reference = new StringUtilsFixed();
+
+  /**
+   * A buffer of a single char forces every run to be carried across buffer boundaries.
+   */
+  @Test
+  void testCompress_reader_matchesStringUtilsFixedForEveryBufferSize() throws IOException {
+    for (int bufferSize : new int[] {1, 2, 3, 7, 8192}) {
+      RleStreamCompressor compressor = new RleStreamCompressor(bufferSize);
+      for (String input : INPUTS) {
+        StringWriter out = new StringWriter();
+        long written = compressor.compress(new StringReader(input), out);
+        String expected = reference.compress(input);
+        assertEquals(expected, out.toString(), "buffer " + bufferSize + ", input " + input);
+        assertEquals(expected.length(), written);
+      }
+    }
+  }
+
+  /**
+   * A run longer than the buffer and with a multi-digit count.
+   */
+  @Test
+  void testCompress_longRun_countsAcrossBuffers() throws IOException {
+    String input = "b" + "a".repeat(123_456) + "b";
+    StringWriter out = new StringWriter();
+    new RleStreamCompressor(100).compress(new StringReader(input), out);
+    assertEquals("b1a123456b1", out.toString());
+  }
+
+  @Test
+  void testCompress_file_twoPassMatchesStringUtilsFixed() throws IOException {
+    Path file = Files.createTempFile("rle-test", ".txt");
+    try {
+      for (String input : INPUTS) {
+        Files.writeString(file, input, StandardCharsets.UTF_8);
+        StringWriter out = new StringWriter();
+        new RleStreamCompressor(4).compress(file, StandardCharsets.UTF_8, out);
+        assertEquals(reference.compress(input), out.toString());
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  void testCompress_channels_encodeWithGivenCharset() throws IOException {
+    String input = "éééééézz";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new RleStreamCompressor().compress(
+        Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+        Channels.newChannel(out), StandardCharsets.UTF_8);
+    assertEquals("é6z2", out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testConstructor_nonPositiveBufferSize_throwsIllegalArgumentException() {
+    assertThrows(IllegalArgumentException.class, () -> new RleStreamCompressor(0));
+  }
+
+  @Test
+  void testCompress_nullInput_throwsNullPointerException() {
+    assertThrows(NullPointerException.class, () -> {
+      new RleStreamCompressor().compress((java.io.Reader) null, new StringWriter());
+    });
+  }
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+import java.util.Random;
+
+/**
+ * Generates low-entropy test and benchmark inputs: runs of lowercase letters whose lengths are
+ * geometrically distributed around a given mean. Neighbouring runs always use different letters,
+ * so the number of runs in the output is known from the run lengths alone.
+ */
+final class RunData {
+
+  private RunData() {
+  }
+
+  /**
+   * @param length the length of the generated string
+   * @param meanRun the mean run length, at least 1
+   * @param seed the seed of the generator, so that runs are repeatable
+   * @return a string of the given length
+   */
+  static String runs(int length, int meanRun, long seed) {
+    Random random = new Random(seed);
+    double p = 1.0 / meanRun;
+    StringBuilder sb = new StringBuilder(length);
+    char c = 'a';
+    while (sb.length() < length) {
+      int n = 1;
+      while (n < length && random.nextDouble() >= p) {
+        n++;
+      }
+      n = Math.min(n, length - sb.length());
+      for (int i = 0; i < n; i++) {
+        sb.append(c);
+      }
+      c = (char) ('a' + (c - 'a' + 1 + random.nextInt(25)) % 26);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,89 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Scalar vs. Vector API run detection across run-length distributions, both on the bare scan
+ * over a char[] and through compress. Scores are in microseconds per {@code length} chars.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class RunScannerBenchmark {
+
+  @Param({"1", "4", "32", "1024"})
+  int meanRun;
+
+  @Param({"1048576"})
+  int length;
+
+  private final RunScanner scalar = new ScalarRunScanner();
+  private final RunScanner vector = new VectorRunScanner();
+  private final StringUtilsFixed su = new StringUtilsFixed();
+  private final RleCompressor scalarCompressor = new RleCompressor(scalar);
+  private final RleCompressor vectorCompressor = new RleCompressor(vector);
+
+  private String text;
+  private char[] chars;
+
+  @Setup
+  public void setUp() {
+    text = RunData.runs(length, meanRun, 42);
+    chars = text.toCharArray();
+  }
+
+  private static int countRuns(RunScanner scanner, char[] a) {
+    int runs = 0;
+    for (int i = 0; i < a.length; i = scanner.runEnd(a, i, a.length)) {
+      runs++;
+    }
+    return runs;
+  }
+
+  @Benchmark
+  public int scanScalar() {
+    return countRuns(scalar, chars);
+  }
+
+  @Benchmark
+  public int scanVector() {
+    return countRuns(vector, chars);
+  }
+
+  @Benchmark
+  public String compressStringUtilsFixed() {
+    return su.compress(text);
+  }
+
+  @Benchmark
+  public String compressScalar() {
+    return scalarCompressor.compress(text);
+  }
+
+  @Benchmark
+  public String compressVector() {
+    return vectorCompressor.compress(text);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(RunScannerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
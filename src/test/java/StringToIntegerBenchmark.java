@@ -0,0 +1,77 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * StringUtils.stringToInteger and StringUtilsFixed.stringToInteger, which walk their input twice,
+ * against the single-pass NumberParser.stringToInteger and the exception-free NumberParser.parseInt.
+ * Invalid input makes the first three throw, which is part of what is measured; the value -1 is
+ * returned instead so that every benchmark produces a result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringToIntegerBenchmark {
+
+  /* short, long, signed, overflowing and invalid */
+  @Param({"42", "1234567890", "-12345", "99999999999", "12a45"})
+  String input;
+
+  private final StringUtils su = new StringUtils();
+  private final StringUtilsFixed fixed = new StringUtilsFixed();
+  private final NumberParser parser = new NumberParser();
+
+  @Benchmark
+  public int stringUtils() {
+    try {
+      return su.stringToInteger(input);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  @Benchmark
+  public int stringUtilsFixed() {
+    try {
+      return fixed.stringToInteger(input);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  @Benchmark
+  public int singlePass() {
+    try {
+      return NumberParser.stringToInteger(input);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  @Benchmark
+  public int exceptionFree() {
+    int value = parser.parseInt(input, 0, input.length());
+    return parser.status() == NumberParser.INVALID ? -1 : value;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(StringToIntegerBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,97 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SudokuBatchValidator. Every line is checked with SudokuFixed.isValidSudoku, and a
+ * line of another length than 81 counts as a board of the wrong shape.
+ */
+class SudokuBatchValidatorTest {
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = Files.createTempFile("sudoku-batch", ".txt");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    private static BitSet expected(List<String> lines) {
+        BitSet invalid = new BitSet();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.length() != 81 || !SudokuFixed.isValidSudoku(SudokuData.toBoard(line))) {
+                invalid.set(i);
+            }
+        }
+        return invalid;
+    }
+
+    @Test
+    void testValidate_agreesWithSudokuFixedForEveryChunkSize() throws IOException {
+        Random random = new Random(41);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            lines.add(random.nextBoolean() ? SudokuData.validBoard(random) : SudokuData.mutatedBoard(random));
+        }
+        // short, long and empty lines, and a line with a newline where a cell should be
+        lines.set(10, lines.get(10).substring(1));
+        lines.set(20, lines.get(20) + "1");
+        lines.set(30, "");
+        lines.set(40, SudokuData.SOLVED.substring(0, 40));
+        lines.add(41, SudokuData.SOLVED.substring(41) + ".");
+        String text = String.join("\n", lines) + "\n";
+        Files.writeString(file, text, StandardCharsets.US_ASCII);
+        BitSet expected = expected(lines);
+        for (int chunkSize : new int[] {1, 100, 4096, 1 << 20}) {
+            SudokuBatchValidator.Result result = new SudokuBatchValidator(ForkJoinPool.commonPool(), chunkSize)
+                    .validate(file);
+            assertEquals(lines.size(), result.boards());
+            assertEquals(expected, result.invalid());
+            assertArrayEquals(expected.stream().toArray(), result.invalidIndices());
+            assertTrue(result.boardsPerSecond() > 0);
+        }
+    }
+
+    @Test
+    void testValidate_crlfAndNoFinalTerminator() throws IOException {
+        String bad = SudokuData.SOLVED.substring(0, 80) + "1";
+        Files.writeString(file, SudokuData.SOLVED + "\r\n" + bad + "\r\n" + SudokuData.HARD[0],
+                StandardCharsets.US_ASCII);
+        SudokuBatchValidator.Result result = new SudokuBatchValidator().validate(file);
+        assertEquals(3, result.boards());
+        assertArrayEquals(new int[] {1}, result.invalidIndices());
+        assertEquals(1, result.invalidCount());
+    }
+
+    @Test
+    void testValidate_emptyFile() throws IOException {
+        SudokuBatchValidator.Result result = new SudokuBatchValidator().validate(file);
+        assertEquals(0, result.boards());
+        assertTrue(result.invalid().isEmpty());
+    }
+
+    @Test
+    void testConstructor_nonPositiveChunkSize_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SudokuBatchValidator(ForkJoinPool.commonPool(), 0));
+    }
+}
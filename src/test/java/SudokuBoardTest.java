@@ -0,0 +1,75 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SudokuBoard and the flat validators of SudokuValidator. SudokuFixed.isValidSudoku
+ * on the char[][] form is the reference for every board.
+ */
+class SudokuBoardTest {
+
+    @Test
+    void testFlatValidators_agreeWithSudokuFixed() {
+        Random random = new Random(37);
+        for (int round = 0; round < 3000; round++) {
+            String line = round % 2 == 0 ? SudokuData.validBoard(random) : SudokuData.mutatedBoard(random);
+            boolean expected = SudokuFixed.isValidSudoku(SudokuData.toBoard(line));
+            String padded = "##" + line + "\n";
+            byte[] bytes = padded.getBytes(StandardCharsets.ISO_8859_1);
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+            assertEquals(expected, SudokuValidator.isValidSudoku(padded, 2), line);
+            assertEquals(expected, SudokuValidator.isValidSudoku(bytes, 2), line);
+            assertEquals(expected, SudokuValidator.isValidSudoku(ByteBuffer.wrap(bytes), 2), line);
+            assertEquals(expected, SudokuValidator.isValidSudoku(direct, 2), line);
+            if (line.chars().allMatch(c -> c == '.' || (c >= '1' && c <= '9'))) {
+                assertEquals(expected, SudokuBoard.of(padded, 2).isValid(), line);
+            }
+        }
+    }
+
+    @Test
+    void testConversions_roundTrip() {
+        String line = SudokuData.HARD[0];
+        SudokuBoard board = SudokuBoard.of(line, 0);
+        assertEquals(line, board.toString());
+        assertEquals(8, board.get(0, 0));
+        assertEquals(0, board.get(0, 1));
+        assertEquals(board, SudokuBoard.of(board.toCharArray()));
+        assertTrue(SudokuFixed.isValidSudoku(board.toCharArray()));
+
+        byte[] record = new byte[83];
+        board.writeTo(record, 1);
+        assertEquals(board, new SudokuBoard().load(record, 1));
+        ByteBuffer buffer = ByteBuffer.allocate(81);
+        board.writeTo(buffer);
+        assertEquals(board, new SudokuBoard().load(buffer, 0));
+        assertEquals(board.hashCode(), new SudokuBoard().load(buffer, 0).hashCode());
+    }
+
+    @Test
+    void testSet_duplicateMakesBoardInvalid() {
+        SudokuBoard board = new SudokuBoard();
+        board.set(4, 4, 5);
+        assertTrue(board.isValid());
+        board.set(5, 3, 5);
+        assertFalse(board.isValid());
+        board.set(5, 3, 0);
+        assertTrue(board.isValid());
+        assertThrows(IllegalArgumentException.class, () -> board.set(0, 0, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> board.get(9, 0));
+    }
+
+    @Test
+    void testLoad_badInput_throws() {
+        assertThrows(IllegalArgumentException.class, () -> SudokuBoard.of("0" + ".".repeat(80), 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> SudokuBoard.of(".".repeat(81), 1));
+        assertThrows(IllegalArgumentException.class, () -> SudokuBoard.of(new char[9][8]));
+        assertThrows(IndexOutOfBoundsException.class, () -> SudokuValidator.isValidSudoku(new byte[80], 0));
+    }
+}
@@ -0,0 +1,79 @@
+package org.example;
+
+import java.util.Random;
+
+/**
+ * Sudoku boards for tests and benchmarks: a solved grid, random valid and invalid boards derived
+ * from it, and a few well-known hard puzzles as 81-char lines with '.' for empty cells.
+ */
+final class SudokuData {
+
+    static final String SOLVED =
+            "534678912672195348198342567859761423426853791713924856961537284287419635345286179";
+
+    static final String[] HARD = {
+        // Arto Inkala's "world's hardest Sudoku"
+        "8..........36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..",
+        // the first puzzles of the top95 collection
+        "4.....8.5.3..........7......2.....6.....8.4......1.......6.3.7.5..2.....1.4......",
+        "52...6.........7.13...........4..8..6......5...........418.........3..2...87.....",
+        "6.....8.3.4.7.................5.4.7.3..2.....1.6.......2.....5.....8.6......1....",
+        "48.3............71.2.......7.5....6....2..8.............1.76...3.....4......5....",
+        "....14....3....2...7..........9...3.6.1.............8.2.....1.4....5.6.....7.8...",
+        "......52..8.4......3...9...5.1...6..2..7........3.....6...1..........7.4.......3.",
+        "6.2.5.........3.4..........43...8....1....2........7..5..27...........81...6.....",
+        ".524.........7.1..............8.2...3.....6...9.5.....1.6.3...........897........",
+    };
+
+    private SudokuData() {
+    }
+
+    static char[][] toBoard(CharSequence line) {
+        char[][] board = new char[9][9];
+        for (int i = 0; i < 81; i++) {
+            board[i / 9][i % 9] = line.charAt(i);
+        }
+        return board;
+    }
+
+    static String toLine(char[][] board) {
+        StringBuilder sb = new StringBuilder(81);
+        for (char[] row : board) {
+            sb.append(row);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return SOLVED with a random part of its cells emptied, and its digits relabelled, so it is
+     *     always valid
+     */
+    static String validBoard(Random random) {
+        char[] digits = "123456789".toCharArray();
+        for (int i = 8; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            char t = digits[i];
+            digits[i] = digits[j];
+            digits[j] = t;
+        }
+        double empty = random.nextDouble();
+        char[] line = new char[81];
+        for (int i = 0; i < 81; i++) {
+            line[i] = random.nextDouble() < empty ? '.' : digits[SOLVED.charAt(i) - '1'];
+        }
+        return new String(line);
+    }
+
+    /**
+     * @return a valid board with one to three cells overwritten by a random digit, or rarely by
+     *     another char, so it is usually invalid
+     */
+    static String mutatedBoard(Random random) {
+        char[] line = validBoard(random).toCharArray();
+        for (int k = 1 + random.nextInt(3); k > 0; k--) {
+            line[random.nextInt(81)] = random.nextInt(20) == 0 ? "0a ".charAt(random.nextInt(3))
+                    : (char) ('1' + random.nextInt(9));
+        }
+        return new String(line);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * SudokuSolver over the hard puzzles of SudokuData, Inkala's and the first ones of top95, as the
+ * average time per puzzle. Each puzzle is copied into a work board before it is solved, which is
+ * part of the measured time. Run main to see the allocation rate next to the time, which for a
+ * reused solver should be zero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SudokuSolverBenchmark {
+
+    private final SudokuSolver solver = new SudokuSolver();
+    private final char[][] work = new char[9][9];
+    private final SudokuBoard workBoard = new SudokuBoard();
+    private char[][][] puzzles;
+    private SudokuBoard[] boards;
+
+    @Setup
+    public void setUp() {
+        puzzles = new char[SudokuData.HARD.length][][];
+        boards = new SudokuBoard[SudokuData.HARD.length];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = SudokuData.toBoard(SudokuData.HARD[i]);
+            boards[i] = SudokuBoard.of(SudokuData.HARD[i], 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public int charArray() {
+        int solved = 0;
+        for (char[][] puzzle : puzzles) {
+            for (int r = 0; r < 9; r++) {
+                System.arraycopy(puzzle[r], 0, work[r], 0, 9);
+            }
+            solved += solver.solve(work) ? 1 : 0;
+        }
+        return solved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public int board() {
+        int solved = 0;
+        for (SudokuBoard puzzle : boards) {
+            System.arraycopy(puzzle.cells(), 0, workBoard.cells(), 0, SudokuBoard.CELLS);
+            solved += solver.solve(workBoard) ? 1 : 0;
+        }
+        return solved;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(9)
+    public int countToTwo() {
+        int proper = 0;
+        for (SudokuBoard puzzle : boards) {
+            proper += solver.countSolutions(puzzle, 2) == 1 ? 1 : 0;
+        }
+        return proper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SudokuSolverBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SudokuSolver. A solution must be full, valid by SudokuValidator and keep every
+ * given of the puzzle.
+ */
+class SudokuSolverTest {
+
+    private static void assertSolves(String puzzle, char[][] solved) {
+        String line = SudokuData.toLine(solved);
+        assertTrue(SudokuValidator.isValidSudoku(solved), line);
+        assertTrue(line.indexOf('.') < 0, line);
+        for (int i = 0; i < 81; i++) {
+            if (puzzle.charAt(i) != '.') {
+                assertEquals(puzzle.charAt(i), line.charAt(i), line);
+            }
+        }
+    }
+
+    @Test
+    void testSolve_hardPuzzles() {
+        SudokuSolver solver = new SudokuSolver();
+        for (String puzzle : SudokuData.HARD) {
+            char[][] board = SudokuData.toBoard(puzzle);
+            assertTrue(solver.solve(board), puzzle);
+            assertSolves(puzzle, board);
+            assertEquals(1, solver.countSolutions(SudokuBoard.of(puzzle, 0), 2), puzzle);
+        }
+    }
+
+    @Test
+    void testSolve_inkala() {
+        char[][] board = SudokuData.toBoard(SudokuData.HARD[0]);
+        assertTrue(new SudokuSolver().solve(board));
+        assertEquals("812753649943682175675491283154237896369845721287169534521974368438526917796318452",
+                SudokuData.toLine(board));
+    }
+
+    @Test
+    void testSolve_boardMatchesCharArray() {
+        SudokuSolver solver = new SudokuSolver();
+        for (String puzzle : SudokuData.HARD) {
+            char[][] board = SudokuData.toBoard(puzzle);
+            SudokuBoard flat = SudokuBoard.of(puzzle, 0);
+            assertTrue(solver.solve(board));
+            assertTrue(solver.solve(flat));
+            assertEquals(SudokuData.toLine(board), flat.toString());
+        }
+    }
+
+    @Test
+    void testSolve_randomValidBoards() {
+        Random random = new Random(44);
+        SudokuSolver solver = new SudokuSolver();
+        for (int n = 0; n < 2_000; n++) {
+            String puzzle = SudokuData.validBoard(random);
+            char[][] board = SudokuData.toBoard(puzzle);
+            assertTrue(solver.solve(board), puzzle);
+            assertSolves(puzzle, board);
+        }
+    }
+
+    @Test
+    void testSolve_emptyBoard() {
+        char[][] board = SudokuData.toBoard(".".repeat(81));
+        SudokuSolver solver = new SudokuSolver();
+        assertTrue(solver.solve(board));
+        assertSolves(".".repeat(81), board);
+        assertEquals(100, solver.countSolutions(new SudokuBoard(), 100));
+    }
+
+    @Test
+    void testSolve_invalidOrUnsolvable_leavesBoard() {
+        SudokuSolver solver = new SudokuSolver();
+        char[][] duplicate = SudokuData.toBoard(SudokuData.HARD[1]);
+        duplicate[0][1] = duplicate[0][0];
+        String before = SudokuData.toLine(duplicate);
+        assertFalse(solver.solve(duplicate));
+        assertEquals(before, SudokuData.toLine(duplicate));
+
+        // valid, but the last cell of the first row has no digit left
+        String stuck = "12345678." + "........9" + ".".repeat(63);
+        char[][] board = SudokuData.toBoard(stuck);
+        assertTrue(SudokuValidator.isValidSudoku(board));
+        assertFalse(solver.solve(board));
+        assertEquals(stuck, SudokuData.toLine(board));
+        assertEquals(0, solver.countSolutions(SudokuBoard.of(stuck, 0), 2));
+
+        assertFalse(solver.solve((char[][]) null));
+        assertFalse(solver.solve(new char[8][9]));
+        assertThrows(IllegalArgumentException.class, () -> solver.countSolutions(new SudokuBoard(), 0));
+    }
+
+    @Test
+    void testCountSolutions_ambiguousPuzzle() {
+        // in SOLVED, rows 3 and 4 hold the same two digits in columns 5 and 8, swapped, so with the
+        // four cells emptied they can go either way
+        char[][] board = SudokuData.toBoard(SudokuData.SOLVED);
+        assertEquals(board[3][5], board[4][8]);
+        assertEquals(board[3][8], board[4][5]);
+        board[3][5] = board[4][8] = board[3][8] = board[4][5] = '.';
+        SudokuBoard puzzle = SudokuBoard.of(board);
+        assertEquals(2, new SudokuSolver().countSolutions(puzzle, 5));
+    }
+}
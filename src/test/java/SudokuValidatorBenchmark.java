@@ -0,0 +1,67 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * SudokuFixed.isValidSudoku against the bitmask SudokuValidator on a solved board, a hard puzzle and
+ * a board with a duplicate in its last row. Run main to get the allocation rate per board from the
+ * GC profiler (gc.alloc.rate.norm) next to the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SudokuValidatorBenchmark {
+
+    @Param({"solved", "puzzle", "lateDuplicate"})
+    String kind;
+
+    private char[][] board;
+
+    @Setup
+    public void setUp() {
+        switch (kind) {
+            case "solved" -> board = SudokuData.toBoard(SudokuData.SOLVED);
+            case "puzzle" -> board = SudokuData.toBoard(SudokuData.HARD[0]);
+            default -> {
+                board = SudokuData.toBoard(SudokuData.SOLVED);
+                board[8][8] = board[8][0];
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean sudokuFixed() {
+        return SudokuFixed.isValidSudoku(board);
+    }
+
+    @Benchmark
+    public boolean bitmask() {
+        return SudokuValidator.isValidSudoku(board);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SudokuValidatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for SudokuValidator. SudokuFixed.isValidSudoku is the reference for every board.
+ */
+class SudokuValidatorTest {
+
+    @Test
+    void testIsValidSudoku_agreesWithSudokuFixedOnRandomBoards() {
+        Random random = new Random(31);
+        int invalid = 0;
+        for (int round = 0; round < 5000; round++) {
+            String line = round % 2 == 0 ? SudokuData.validBoard(random) : SudokuData.mutatedBoard(random);
+            char[][] board = SudokuData.toBoard(line);
+            boolean expected = SudokuFixed.isValidSudoku(board);
+            assertEquals(expected, SudokuValidator.isValidSudoku(board), line);
+            invalid += expected ? 0 : 1;
+        }
+        assertTrue(invalid > 1000);
+    }
+
+    @Test
+    void testIsValidSudoku_duplicateInLastColumns() {
+        char[][] board = SudokuData.toBoard(".".repeat(81));
+        board[0][8] = '9';
+        board[8][8] = '9';
+        assertFalse(SudokuValidator.isValidSudoku(board));
+        board[8][8] = '.';
+        board[8][7] = '9';
+        assertTrue(SudokuValidator.isValidSudoku(board));
+    }
+
+    @Test
+    void testIsValidSudoku_solvedAndHardPuzzles() {
+        assertTrue(SudokuValidator.isValidSudoku(SudokuData.toBoard(SudokuData.SOLVED)));
+        for (String puzzle : SudokuData.HARD) {
+            assertTrue(SudokuValidator.isValidSudoku(SudokuData.toBoard(puzzle)), puzzle);
+        }
+    }
+
+    @Test
+    void testIsValidSudoku_badShape_returnsFalse() {
+        assertFalse(SudokuValidator.isValidSudoku(null));
+        assertFalse(SudokuValidator.isValidSudoku(new char[8][9]));
+        assertFalse(SudokuValidator.isValidSudoku(new char[9][10]));
+        char[][] board = SudokuData.toBoard(SudokuData.SOLVED);
+        board[4] = null;
+        assertFalse(SudokuValidator.isValidSudoku(board));
+    }
+}